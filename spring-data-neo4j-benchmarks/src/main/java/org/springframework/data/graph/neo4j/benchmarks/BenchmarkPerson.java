@@ -0,0 +1,71 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Node;
+import org.springframework.data.graph.annotation.NodeEntity;
+import org.springframework.data.graph.annotation.RelatedTo;
+import org.springframework.data.graph.core.Direction;
+
+import java.util.Set;
+
+/**
+ * Simple node entity used by the benchmarks.
+ */
+@NodeEntity
+public class BenchmarkPerson {
+    String name;
+    int age;
+
+    @RelatedTo(type = "knows", direction = Direction.OUTGOING, elementClass = BenchmarkPerson.class)
+    Set<BenchmarkPerson> friends;
+
+    public BenchmarkPerson() {
+    }
+
+    public BenchmarkPerson(String name, int age) {
+        this.name = name;
+        this.age = age;
+    }
+
+    /**
+     * attaches the entity to an existing node without running the type strategy
+     */
+    public BenchmarkPerson(Node node) {
+        setUnderlyingState(node);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public int getAge() {
+        return age;
+    }
+
+    public void setAge(int age) {
+        this.age = age;
+    }
+
+    public Set<BenchmarkPerson> getFriends() {
+        return friends;
+    }
+}
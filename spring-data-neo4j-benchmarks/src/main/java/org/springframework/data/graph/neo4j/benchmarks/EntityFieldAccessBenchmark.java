@@ -0,0 +1,86 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Property reads and writes on a node entity, intercepted by the Neo4jNodeBacking aspect.
+ * Writes run in a transaction per iteration that is rolled back afterwards.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class EntityFieldAccessBenchmark extends GraphDatabaseState {
+
+    private BenchmarkPerson person;
+    private Transaction tx;
+    private int age;
+
+    @Setup(Level.Trial)
+    public void createPerson() {
+        person = createPerson("Michael", 36);
+    }
+
+    @Setup(Level.Iteration)
+    public void beginTx() {
+        tx = graphDatabaseContext.beginTx();
+    }
+
+    @TearDown(Level.Iteration)
+    public void rollbackTx() {
+        tx.failure();
+        tx.finish();
+    }
+
+    @Benchmark
+    public String getStringProperty() {
+        return person.getName();
+    }
+
+    @Benchmark
+    public int getIntProperty() {
+        return person.getAge();
+    }
+
+    @Benchmark
+    public void setIntProperty() {
+        person.setAge(age++);
+    }
+
+    @Benchmark
+    public void setStringProperty() {
+        person.setName("Michael");
+    }
+}
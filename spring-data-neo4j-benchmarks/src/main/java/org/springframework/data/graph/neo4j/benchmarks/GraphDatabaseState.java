@@ -0,0 +1,65 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Transaction;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.support.ClassPathXmlApplicationContext;
+import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
+import org.springframework.data.graph.neo4j.support.node.Neo4jHelper;
+
+/**
+ * Starts the application context with an ImpermanentGraphDatabase and the configured aspects once per trial.
+ */
+@State(Scope.Benchmark)
+public class GraphDatabaseState {
+    public static final String CONTEXT = "classpath:org/springframework/data/graph/neo4j/benchmarks/benchmark-context.xml";
+
+    private ClassPathXmlApplicationContext ctx;
+    protected GraphDatabaseContext graphDatabaseContext;
+
+    @Setup(Level.Trial)
+    public void startDatabase() {
+        ctx = new ClassPathXmlApplicationContext(CONTEXT);
+        graphDatabaseContext = ctx.getBean(GraphDatabaseContext.class);
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopDatabase() {
+        ctx.close();
+    }
+
+    public GraphDatabaseContext getGraphDatabaseContext() {
+        return graphDatabaseContext;
+    }
+
+    public BenchmarkPerson createPerson(String name, int age) {
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            BenchmarkPerson person = new BenchmarkPerson(name, age);
+            tx.success();
+            return person;
+        } finally {
+            tx.finish();
+        }
+    }
+}
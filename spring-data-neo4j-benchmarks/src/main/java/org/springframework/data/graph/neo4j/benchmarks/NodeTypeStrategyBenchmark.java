@@ -0,0 +1,83 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.graph.core.NodeTypeStrategy;
+import org.springframework.data.graph.neo4j.support.SubReferenceNodeTypeStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Type bookkeeping of the SubReferenceNodeTypeStrategy for new entities, each operation creates a node, runs
+ * postEntityCreation and commits. The multi threaded variant shows the contention on the shared type nodes, compare
+ * counterShards=1 (every creator locks the subreference node) with a sharded setup (creators lock the shard of their thread).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class NodeTypeStrategyBenchmark extends GraphDatabaseState {
+
+    @Param({"1", "4"})
+    public int counterShards;
+
+    private NodeTypeStrategy nodeTypeStrategy;
+
+    @Setup(Level.Trial)
+    public void createStrategy() {
+        nodeTypeStrategy = new SubReferenceNodeTypeStrategy(graphDatabaseContext, counterShards);
+    }
+
+    @Benchmark
+    public BenchmarkPerson postEntityCreation() {
+        return createWithType();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public BenchmarkPerson postEntityCreationConcurrently() {
+        return createWithType();
+    }
+
+    private BenchmarkPerson createWithType() {
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            BenchmarkPerson person = new BenchmarkPerson(graphDatabaseContext.createNode());
+            nodeTypeStrategy.postEntityCreation(person);
+            tx.success();
+            return person;
+        } finally {
+            tx.finish();
+        }
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.benchmarks;
+
+import org.neo4j.graphdb.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reading a one-to-n relationship field (OneToNRelationshipFieldAccessor.getValue) on nodes of varying degree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(1)
+public class RelationshipFieldBenchmark extends GraphDatabaseState {
+
+    @Param({"1", "10", "100", "1000"})
+    public int degree;
+
+    private BenchmarkPerson person;
+
+    @Setup(Level.Trial)
+    public void createFriends() {
+        person = createPerson("Michael", 36);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            for (int i = 0; i < degree; i++) {
+                person.getFriends().add(new BenchmarkPerson("friend" + i, i));
+            }
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+    }
+
+    @Benchmark
+    public int size() {
+        return person.getFriends().size();
+    }
+
+    @Benchmark
+    public void iterate(Blackhole blackhole) {
+        for (BenchmarkPerson friend : person.getFriends()) {
+            blackhole.consume(friend);
+        }
+    }
+
+    @Benchmark
+    public boolean contains() {
+        return person.getFriends().contains(person);
+    }
+}
@@ -70,6 +70,11 @@ public class Neo4JQuery<T> implements TypedQuery<T> {
             protected Iterable<T> findList() {
                 return (Iterable<T>) finder.findAll();
             }
+
+            @Override
+            protected Iterable<T> findList(final int offset, final int limit) {
+                return (Iterable<T>) finder.findAll(offset, limit);
+            }
         };
     }
 
@@ -86,6 +91,19 @@ public class Neo4JQuery<T> implements TypedQuery<T> {
             return Collections.singleton(findObject());
         }
 
+        protected Iterable<T> findList(final int offset, final int limit) {
+            final List<T> result = new ArrayList<T>();
+            int count = 0;
+            for (final T value : findList()) {
+                if (limit >= 0 && count == offset + limit) break;
+                if (count >= offset) {
+                    result.add(value);
+                }
+                count++;
+            }
+            return result;
+        }
+
         protected T findObject() {
             return null;
         }
@@ -111,13 +129,8 @@ public class Neo4JQuery<T> implements TypedQuery<T> {
     @Override
     public List<T> getResultList() {
         final List<T> result = new ArrayList<T>();
-        int count = 0;
-        for (final T nodeBacked : (Iterable<T>) queryExecutor.findList()) {
-            if (maxResult >= 0 && count == startPosition + maxResult) break;
-            if (count >= startPosition) {
-                result.add(nodeBacked);
-            }
-            count++;
+        for (final T nodeBacked : (Iterable<T>) queryExecutor.findList(startPosition, maxResult)) {
+            result.add(nodeBacked);
         }
         return result;
     }
@@ -19,6 +19,8 @@ package org.springframework.data.graph.core;
 import org.neo4j.graphdb.Node;
 import org.springframework.data.graph.core.NodeBacked;
 
+import java.util.Collection;
+
 /**
  * Strategy to handle representation of java types in the graph. Possible implementation are type/class nodes
  * (forming an inheritance chain) that is linked to from the instance and keeps a count of the instances. Another
@@ -44,6 +46,12 @@ public interface NodeTypeStrategy {
      */
     <T extends NodeBacked> Iterable<T> findAll(final Class<T> clazz);
 
+    /**
+     * @param clazz Type whose instance nodes should be iterated over
+     * @return lazy Iterable over the nodes of all instances of the given type, no entities are created
+     */
+    Iterable<Node> findAllNodes(final Class<? extends NodeBacked> clazz);
+
     /**
      * @param entityClass
      * @return number of instances of this class contained in the graph
@@ -63,5 +71,18 @@ public interface NodeTypeStrategy {
      */
     void preEntityRemoval(NodeBacked entity);
 
+    /**
+     * callback for lifecycle management before the removal of several node entities, the type representation of all of
+     * them is updated at once
+     * @param entities
+     */
+    void preEntitiesRemoval(Collection<? extends NodeBacked> entities);
+
     <T extends NodeBacked> Class<T> confirmType(Node node, Class<T> type);
+
+    /**
+     * @param clazz
+     * @return false if no instances of subclasses of this type are stored, so its instance nodes don't need their type resolved
+     */
+    boolean hasSubtypes(Class<? extends NodeBacked> clazz);
 }
@@ -18,6 +18,9 @@ public class DataGraphBeanDefinitionParser extends AbstractBeanDefinitionParser
         BeanDefinitionBuilder configBuilder = BeanDefinitionBuilder.rootBeanDefinition(Neo4jConfiguration.class);
         setupGraphDatabase(element, context, configBuilder);
         setupEntityManagerFactory(element, configBuilder);
+        setupIndexedNodeTypes(element, configBuilder);
+        setupCounterShards(element, configBuilder);
+        setupDeferCounterUpdates(element, configBuilder);
         return getSourcedBeanDefinition(configBuilder, element, context);
     }
 
@@ -41,6 +44,27 @@ public class DataGraphBeanDefinitionParser extends AbstractBeanDefinitionParser
         }
     }
 
+    private void setupIndexedNodeTypes(Element element, BeanDefinitionBuilder configBuilder) {
+        String indexedNodeTypes = element.getAttribute("indexedNodeTypes");
+        if (hasText(indexedNodeTypes)) {
+            configBuilder.addPropertyValue("indexedNodeTypes", indexedNodeTypes);
+        }
+    }
+
+    private void setupCounterShards(Element element, BeanDefinitionBuilder configBuilder) {
+        String counterShards = element.getAttribute("counterShards");
+        if (hasText(counterShards)) {
+            configBuilder.addPropertyValue("counterShards", counterShards);
+        }
+    }
+
+    private void setupDeferCounterUpdates(Element element, BeanDefinitionBuilder configBuilder) {
+        String deferCounterUpdates = element.getAttribute("deferCounterUpdates");
+        if (hasText(deferCounterUpdates)) {
+            configBuilder.addPropertyValue("deferCounterUpdates", deferCounterUpdates);
+        }
+    }
+
     private String handleStoreDir(Element element, ParserContext context, BeanDefinitionBuilder configBuilder) {
         String storeDir = element.getAttribute("storeDirectory");
         if (!hasText(storeDir)) return null;
@@ -29,6 +29,7 @@ import org.springframework.data.graph.neo4j.fieldaccess.NodeEntityStateAccessors
 import org.springframework.data.graph.neo4j.fieldaccess.RelationshipEntityStateAccessorsFactory;
 import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
+import org.springframework.data.graph.neo4j.support.IndexingNodeTypeStrategy;
 import org.springframework.data.graph.neo4j.support.SubReferenceNodeTypeStrategy;
 import org.springframework.data.graph.neo4j.support.node.Neo4jConstructorGraphEntityInstantiator;
 import org.springframework.data.graph.neo4j.support.node.Neo4jNodeBacking;
@@ -82,6 +83,48 @@ public class Neo4jConfiguration {
         return entityManagerFactory!=null;
     }
 
+    private boolean indexedNodeTypes;
+
+    public boolean isIndexedNodeTypes() {
+        return indexedNodeTypes;
+    }
+
+    /**
+     * @param indexedNodeTypes if set, the {@link IndexingNodeTypeStrategy} is used to represent entity types instead of
+     * the {@link SubReferenceNodeTypeStrategy}
+     */
+    public void setIndexedNodeTypes(boolean indexedNodeTypes) {
+        this.indexedNodeTypes = indexedNodeTypes;
+    }
+
+    private int counterShards = 1;
+
+    public int getCounterShards() {
+        return counterShards;
+    }
+
+    /**
+     * @param counterShards number of counter shards per subreference node of the {@link SubReferenceNodeTypeStrategy},
+     * 1 keeps the count on the subreference node itself
+     */
+    public void setCounterShards(int counterShards) {
+        this.counterShards = counterShards;
+    }
+
+    private boolean deferCounterUpdates;
+
+    public boolean isDeferCounterUpdates() {
+        return deferCounterUpdates;
+    }
+
+    /**
+     * @param deferCounterUpdates if set, the {@link SubReferenceNodeTypeStrategy} aggregates counter changes per class
+     * and writes them once before the transaction commits
+     */
+    public void setDeferCounterUpdates(boolean deferCounterUpdates) {
+        this.deferCounterUpdates = deferCounterUpdates;
+    }
+
 	@Bean
 	public GraphDatabaseContext graphDatabaseContext() throws Exception {
 		GraphDatabaseContext gdc = new GraphDatabaseContext();
@@ -94,7 +137,7 @@ public class Neo4jConfiguration {
 			gdc.setGraphEntityInstantiator(new Neo4jConstructorGraphEntityInstantiator());
 		}
 		gdc.setConversionService(new Neo4jConversionServiceFactoryBean().getObject());
-		gdc.setNodeTypeStrategy(new SubReferenceNodeTypeStrategy(gdc));
+		gdc.setNodeTypeStrategy(isIndexedNodeTypes() ? new IndexingNodeTypeStrategy(gdc) : new SubReferenceNodeTypeStrategy(gdc, getCounterShards(), isDeferCounterUpdates()));
         if (validator!=null) {
             gdc.setValidator(validator);
         }
@@ -63,12 +63,48 @@ public abstract class AbstractNodeRelationshipFieldAccessor<ENTITY extends Graph
         }
     }
 
+    /**
+     * creates the relationships to the given targets without looking for existing ones, the targets that are already
+     * related have to be removed from targetNodes by {@link #removeMissingRelationships} before
+     */
     protected void createAddedRelationships(STATE node, Set<TSTATE> targetNodes) {
         for (TSTATE targetNode : targetNodes) {
-            createSingleRelationship(node,targetNode);
+            createSingleRelationship(node,targetNode,false);
         }
     }
 
+    /**
+     * creates the relationship to a single target added to a {@link ManagedFieldAccessorSet}
+     */
+    protected void addTarget(ENTITY entity, Object target) {
+        final STATE node = checkWriteableState(entity);
+        final TSTATE targetState = checkTargetState(target);
+        if (node.equals(targetState)) throw new InvalidDataAccessApiUsageException("Cannot create a circular reference to "+ target);
+        createSingleRelationship(node, targetState);
+    }
+
+    /**
+     * removes the relationships to a single target removed from a {@link ManagedFieldAccessorSet}
+     */
+    protected void removeTarget(ENTITY entity, Object target) {
+        final STATE node = checkWriteableState(entity);
+        removeRelationshipsTo(node, checkTargetState(target));
+    }
+
+    private STATE checkWriteableState(ENTITY entity) {
+        if (!isWriteable(entity)) throw new InvalidDataAccessApiUsageException("Cannot modify read-only relationship field.");
+        return checkUnderlyingNode(entity);
+    }
+
+    private TSTATE checkTargetState(Object target) {
+        if (!relatedType.isInstance(target)) {
+            throw new IllegalArgumentException("New value elements must be "+relatedType);
+        }
+        final TSTATE targetState = ((GraphBacked<TSTATE>) target).getUnderlyingState();
+        if (targetState == null) throw new IllegalArgumentException("New value elements must have a backing state: " + target);
+        return targetState;
+    }
+
     protected void checkNoCircularReference(Node node, Set<STATE> targetNodes) {
         if (targetNodes.contains(node)) throw new InvalidDataAccessApiUsageException("Cannot create a circular reference to "+ targetNodes);
     }
@@ -91,33 +127,86 @@ public abstract class AbstractNodeRelationshipFieldAccessor<ENTITY extends Graph
         return new ManagedFieldAccessorSet<ENTITY,TARGET>(entity, result, this);
     }
 
+    /**
+     * @return a lazy set view of the related entities, see {@link LazyRelatedEntitySet}
+     */
     protected Set<TARGET> createEntitySetFromRelationshipEndNodes(ENTITY entity) {
-        final Iterable<TSTATE> nodes = getStatesFromEntity(entity);
-        final Set<TARGET> result = new HashSet<TARGET>();
-        for (final TSTATE otherNode : nodes) {
-            TARGET target=graphDatabaseContext.createEntityFromState(otherNode, relatedType);
-            result.add(target);
-		}
-        return result;
+        return new LazyRelatedEntitySet<ENTITY, STATE, TARGET, TSTATE>(entity, this);
+    }
+
+    protected TARGET createEntityFromState(TSTATE state) {
+        return graphDatabaseContext.createEntityFromState(state, relatedType);
+    }
+
+    /**
+     * @return the number of distinct targets, without creating entities, the relationships are only de-duplicated by
+     * target if {@link #allowsDuplicateTargets()}
+     */
+    protected int countStates(ENTITY entity) {
+        if (allowsDuplicateTargets()) {
+            final Set<TSTATE> states = new HashSet<TSTATE>();
+            for (TSTATE state : getStatesFromEntity(entity)) {
+                states.add(state);
+            }
+            return states.size();
+        }
+        int count = 0;
+        for (TSTATE state : getStatesFromEntity(entity)) {
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * relationships are created at most once per target and direction, only with {@link Direction#BOTH} a target
+     * can be related in both directions and show up twice
+     */
+    protected boolean allowsDuplicateTargets() {
+        return direction == Direction.BOTH;
     }
 
+    protected boolean hasStates(ENTITY entity) {
+        return getStatesFromEntity(entity).iterator().hasNext();
+    }
+
+    protected boolean containsState(ENTITY entity, TSTATE target) {
+        for (TSTATE state : getStatesFromEntity(entity)) {
+            if (state.equals(target)) return true;
+        }
+        return false;
+    }
 
     protected void createSingleRelationship(STATE start, TSTATE end) {
+        createSingleRelationship(start, end, true);
+    }
+
+    private void createSingleRelationship(STATE start, TSTATE end, boolean checkExisting) {
         if (end==null) return;
         switch(direction) {
             case OUTGOING : {
-                obtainSingleRelationship(start, end);
+                relate(start, end, checkExisting);
                 break;
             }
             case INCOMING :
-                obtainSingleRelationship((STATE)end, (TSTATE)start);
+                relate((STATE)end, (TSTATE)start, checkExisting);
                 break;
             default : throw new InvalidDataAccessApiUsageException("invalid direction " + direction);
         }
     }
 
+    private Relationship relate(STATE start, TSTATE end, boolean checkExisting) {
+        return checkExisting ? obtainSingleRelationship(start, end) : createRelationship(start, end);
+    }
+
+    /**
+     * @return the existing or a newly created outgoing relationship from start to end
+     */
     protected abstract Relationship obtainSingleRelationship(STATE start, TSTATE end);
 
+    protected abstract Relationship createRelationship(STATE start, TSTATE end);
+
+    protected abstract void removeRelationshipsTo(STATE start, TSTATE end);
+
     protected abstract Iterable<TSTATE> getStatesFromEntity(ENTITY entity);
 
     protected abstract STATE getState(ENTITY entity);
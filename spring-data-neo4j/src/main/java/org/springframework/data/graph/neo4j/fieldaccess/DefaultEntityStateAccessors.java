@@ -22,7 +22,6 @@ import org.springframework.data.graph.core.GraphBacked;
 
 import java.lang.reflect.Field;
 import java.util.List;
-import java.util.Map;
 
 /**
  * @author Michael Hunger
@@ -31,8 +30,8 @@ import java.util.Map;
 public abstract class DefaultEntityStateAccessors<ENTITY extends GraphBacked<STATE>, STATE> implements EntityStateAccessors<ENTITY,STATE> {
     protected final ENTITY entity;
     protected final Class<? extends ENTITY> type;
-    private final Map<Field, FieldAccessor<ENTITY>> fieldAccessors;
-    private final Map<Field,List<FieldAccessListener<ENTITY,?>>> fieldAccessorListeners;
+    private final FieldAccessor<ENTITY>[] fieldAccessors;
+    private final List<FieldAccessListener<ENTITY,?>>[] fieldAccessorListeners;
     private STATE state;
     protected final static Log log= LogFactory.getLog(DefaultEntityStateAccessors.class);
     private final FieldAccessorFactoryProviders<ENTITY> fieldAccessorFactoryProviders;
@@ -72,33 +71,40 @@ public abstract class DefaultEntityStateAccessors<ENTITY extends GraphBacked<STA
 
     @Override
     public boolean isWritable(Field field) {
-        final FieldAccessor<ENTITY> accessor = accessorFor(field);
+        final FieldAccessor<ENTITY> accessor = accessorFor(fieldAccessorFactoryProviders.indexOf(field));
         if (accessor == null) return true;
         return accessor.isWriteable(entity);
     }
 
     @Override
     public Object getValue(final Field field) {
-        final FieldAccessor<ENTITY> accessor = accessorFor(field);
+        final FieldAccessor<ENTITY> accessor = accessorFor(fieldAccessorFactoryProviders.indexOf(field));
         if (accessor == null) return null;
         else return accessor.getValue(entity);
     }
     @Override
     public Object setValue(final Field field, final Object newVal) {
-        final FieldAccessor<ENTITY> accessor = accessorFor(field);
+        final int index = fieldAccessorFactoryProviders.indexOf(field);
+        final FieldAccessor<ENTITY> accessor = accessorFor(index);
+        final Object oldVal = hasListeners(index) && accessor!=null ? accessor.getValue(entity) : null;
         final Object result=accessor!=null ? accessor.setValue(entity, newVal) : newVal;
-        notifyListeners(field, result);
+        notifyListeners(index, oldVal, result);
         return result;
     }
 
-    private FieldAccessor<ENTITY> accessorFor(final Field field) {
-        return fieldAccessors.get(field);
+    private FieldAccessor<ENTITY> accessorFor(final int index) {
+        if (index == -1) return null;
+        return fieldAccessors[index];
     }
 
-    private void notifyListeners(final Field field, final Object result) {
-        if (!fieldAccessorListeners.containsKey(field) || fieldAccessorListeners.get(field) == null) return;
-        for (final FieldAccessListener<ENTITY, ?> listener : fieldAccessorListeners.get(field)) {
-            listener.valueChanged(entity, null, result); // todo oldValue
+    private boolean hasListeners(final int index) {
+        return index != -1 && fieldAccessorListeners[index] != null;
+    }
+
+    private void notifyListeners(final int index, final Object oldVal, final Object result) {
+        if (!hasListeners(index)) return;
+        for (final FieldAccessListener<ENTITY, ?> listener : fieldAccessorListeners[index]) {
+            listener.valueChanged(entity, oldVal, result);
         }
     }
 
@@ -18,14 +18,14 @@ package org.springframework.data.graph.neo4j.fieldaccess;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.springframework.data.graph.annotation.NodeEntity;
-import org.springframework.data.graph.annotation.RelationshipEntity;
 import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 import org.springframework.util.ReflectionUtils;
 
 import java.lang.reflect.Field;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 public abstract class DelegatingFieldAccessorFactory<T> implements FieldAccessorFactory<T> {
@@ -83,17 +83,7 @@ public abstract class DelegatingFieldAccessorFactory<T> implements FieldAccessor
     }
 
     public static String getNeo4jPropertyName(final Field field) {
-        final Class<?> entityClass = field.getDeclaringClass();
-        if (useShortNames(entityClass)) return field.getName();
-        return String.format("%s.%s", entityClass.getSimpleName(), field.getName());
-    }
-
-    private static boolean useShortNames(final Class<?> entityClass) {
-        final NodeEntity graphEntity = entityClass.getAnnotation(NodeEntity.class);
-        if (graphEntity != null) return graphEntity.useShortNames();
-        final RelationshipEntity graphRelationship = entityClass.getAnnotation(RelationshipEntity.class);
-        if (graphRelationship != null) return graphRelationship.useShortNames();
-        return false;
+        return GraphEntityMetadata.forType(field.getDeclaringClass()).getPropertyName(field);
     }
 
     public List<FieldAccessListener<T, ?>> listenersFor(final Field field) {
@@ -119,23 +109,24 @@ public abstract class DelegatingFieldAccessorFactory<T> implements FieldAccessor
 
 
 
-    private final Map<Class<?>, FieldAccessorFactoryProviders> acessorFactoryProviderCache = new HashMap<Class<?>, FieldAccessorFactoryProviders>();
+    private final ConcurrentMap<Class<?>, FieldAccessorFactoryProviders> acessorFactoryProviderCache = new ConcurrentHashMap<Class<?>, FieldAccessorFactoryProviders>();
 
+    /**
+     * lock free lookup, concurrent first calls for a type may compute the providers more than once, only the first one is kept
+     */
     public <T> FieldAccessorFactoryProviders<T> accessorFactoriesFor(final Class<T> type) {
-        synchronized (this) {
-            final FieldAccessorFactoryProviders<T> fieldAccessorFactoryProviders = acessorFactoryProviderCache.get(type);
-            if (fieldAccessorFactoryProviders != null) return fieldAccessorFactoryProviders;
-            final FieldAccessorFactoryProviders<T> newFieldAccessorFactories = new FieldAccessorFactoryProviders<T>(type);
-            ReflectionUtils.doWithFields(type, new ReflectionUtils.FieldCallback() {
-                public void doWith(final Field field) throws IllegalArgumentException, IllegalAccessException {
-                    final FieldAccessorFactory<?> factory = factoryForField(field);
-                    final List<FieldAccessorListenerFactory> listenerFactories = (List<FieldAccessorListenerFactory>) getFieldAccessListenerFactories(field);
-                    newFieldAccessorFactories.add(field, factory, listenerFactories);
-                }
-            });
-            acessorFactoryProviderCache.put(type, newFieldAccessorFactories);
-            return newFieldAccessorFactories;
-        }
+        final FieldAccessorFactoryProviders<T> fieldAccessorFactoryProviders = acessorFactoryProviderCache.get(type);
+        if (fieldAccessorFactoryProviders != null) return fieldAccessorFactoryProviders;
+        final FieldAccessorFactoryProviders<T> newFieldAccessorFactories = new FieldAccessorFactoryProviders<T>(type);
+        ReflectionUtils.doWithFields(type, new ReflectionUtils.FieldCallback() {
+            public void doWith(final Field field) throws IllegalArgumentException, IllegalAccessException {
+                final FieldAccessorFactory<?> factory = factoryForField(field);
+                final List<FieldAccessorListenerFactory> listenerFactories = (List<FieldAccessorListenerFactory>) getFieldAccessListenerFactories(field);
+                newFieldAccessorFactories.add(field, factory, listenerFactories);
+            }
+        });
+        final FieldAccessorFactoryProviders<T> existing = acessorFactoryProviderCache.putIfAbsent(type, newFieldAccessorFactories);
+        return existing != null ? existing : newFieldAccessorFactories;
     }
 
 }
\ No newline at end of file
@@ -26,7 +26,9 @@ import org.springframework.util.ObjectUtils;
 import java.lang.reflect.Field;
 import java.util.ConcurrentModificationException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import static org.springframework.data.graph.neo4j.fieldaccess.DoReturn.unwrap;
 
@@ -90,7 +92,7 @@ public class DetachableEntityStateAccessors<ENTITY extends GraphBacked<STATE>, S
             final ENTITY entity = getEntity();
             if (!isDirty(field) && isWritable(field)) {
                 Object existingValue;
-                if (entity.getUnderlyingState()!=null) existingValue = unwrap(delegate.getValue(field));
+                if (entity.getUnderlyingState()!=null) existingValue = snapshot(unwrap(delegate.getValue(field)));
                 else {
                     existingValue = getValueFromEntity(field);
                     if (existingValue == null) existingValue = getDefaultValue(field.getType());
@@ -103,6 +105,14 @@ public class DetachableEntityStateAccessors<ENTITY extends GraphBacked<STATE>, S
         return delegate.setValue(field, newVal);
     }
 
+    /**
+     * copies lazy relationship collections so that the previous value is not a live view of the graph
+     */
+    private Object snapshot(final Object value) {
+        if (value instanceof Set) return new HashSet<Object>((Set<?>) value);
+        return value;
+    }
+
     private Object getDefaultValue(final Class<?> type) {
         if (type.isPrimitive()) {
             if (type.equals(boolean.class)) return false;
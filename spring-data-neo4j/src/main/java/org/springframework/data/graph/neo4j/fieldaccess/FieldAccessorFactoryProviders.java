@@ -60,6 +60,10 @@ public class FieldAccessorFactoryProviders<T> {
 
     private final Class<T> type;
     private final List<FieldAccessorFactoryProvider<T>> fieldAccessorFactoryProviders = new ArrayList<FieldAccessorFactoryProvider<T>>();
+    private final Map<Field, Integer> fieldIndexes = new HashMap<Field, Integer>();
+    // accessors and listeners don't hold entity state, concurrent first calls may create them twice
+    private volatile FieldAccessor<T>[] fieldAccessors;
+    private volatile List<FieldAccessListener<T,?>>[] fieldAccessListeners;
     private final IdFieldAccessorFactory idFieldAccessorFactory;
     private Field idField;
 
@@ -68,25 +72,52 @@ public class FieldAccessorFactoryProviders<T> {
         idFieldAccessorFactory = new IdFieldAccessorFactory();
     }
 
-    public Map<Field, FieldAccessor<T>> getFieldAccessors() {
-        final Map<Field, FieldAccessor<T>> result = new HashMap<Field, FieldAccessor<T>>();
-        for (final FieldAccessorFactoryProvider<T> fieldAccessorFactoryProvider : fieldAccessorFactoryProviders) {
-            final FieldAccessor<T> accessor = fieldAccessorFactoryProvider.accessor();
-            result.put(fieldAccessorFactoryProvider.getField(), accessor);
+    /**
+     * @return the accessors for all fields of the type, indexed by {@link #indexOf(Field)}, created once and shared by all entities of the type
+     */
+    public FieldAccessor<T>[] getFieldAccessors() {
+        if (fieldAccessors == null) fieldAccessors = createFieldAccessors();
+        return fieldAccessors;
+    }
+
+    @SuppressWarnings("unchecked")
+    private FieldAccessor<T>[] createFieldAccessors() {
+        final FieldAccessor<T>[] result = new FieldAccessor[fieldAccessorFactoryProviders.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fieldAccessorFactoryProviders.get(i).accessor();
         }
         return result;
     }
 
-    public Map<Field, List<FieldAccessListener<T,?>>> getFieldAccessListeners() {
-        final Map<Field, List<FieldAccessListener<T,?>>> result = new HashMap<Field, List<FieldAccessListener<T,?>>>();
-        for (final FieldAccessorFactoryProvider<T> fieldAccessorFactoryProvider : fieldAccessorFactoryProviders) {
-            final List<FieldAccessListener<T,?>> listeners = (List<FieldAccessListener<T,?>>) fieldAccessorFactoryProvider.listeners();
-            result.put(fieldAccessorFactoryProvider.getField(), listeners);
+    /**
+     * @return the listeners for all fields of the type, indexed by {@link #indexOf(Field)}, empty listener lists are null
+     */
+    public List<FieldAccessListener<T,?>>[] getFieldAccessListeners() {
+        if (fieldAccessListeners == null) fieldAccessListeners = createFieldAccessListeners();
+        return fieldAccessListeners;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<FieldAccessListener<T,?>>[] createFieldAccessListeners() {
+        final List<FieldAccessListener<T,?>>[] result = new List[fieldAccessorFactoryProviders.size()];
+        for (int i = 0; i < result.length; i++) {
+            final List<FieldAccessListener<T, ?>> listeners = fieldAccessorFactoryProviders.get(i).listeners();
+            result[i] = listeners == null || listeners.isEmpty() ? null : listeners;
         }
         return result;
     }
 
+    /**
+     * @param field
+     * @return position of the field in the accessor and listener tables or -1 if the field is not known for this type
+     */
+    public int indexOf(final Field field) {
+        final Integer index = fieldIndexes.get(field);
+        return index == null ? -1 : index;
+    }
+
     public void add(Field field, FieldAccessorFactory<?> fieldAccessorFactory, List<FieldAccessorListenerFactory> listenerFactories) {
+        fieldIndexes.put(field, fieldAccessorFactoryProviders.size());
         fieldAccessorFactoryProviders.add(new FieldAccessorFactoryProvider(field, fieldAccessorFactory, listenerFactories));
         if (idFieldAccessorFactory.accept(field)) this.idField = field;
     }
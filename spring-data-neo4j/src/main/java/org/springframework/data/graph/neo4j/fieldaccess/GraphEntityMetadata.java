@@ -0,0 +1,197 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.fieldaccess;
+
+import org.springframework.data.annotation.Indexed;
+import org.springframework.data.graph.annotation.NodeEntity;
+import org.springframework.data.graph.annotation.RelatedToVia;
+import org.springframework.data.graph.annotation.RelationshipEntity;
+import org.springframework.data.graph.core.RelationshipBacked;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Immutable metadata of a graph entity class, read from its {@link NodeEntity} or {@link RelationshipEntity} annotation
+ * once and cached per class. Also holds the property names of the fields declared by the class, the indexes of
+ * the indexed ones and the relationship entity types of its {@link RelatedToVia} fields.
+ */
+public final class GraphEntityMetadata {
+
+    private static final ConcurrentMap<Class<?>, GraphEntityMetadata> metadataCache = new ConcurrentHashMap<Class<?>, GraphEntityMetadata>();
+
+    private final Class<?> type;
+    private final boolean nodeEntity;
+    private final boolean relationshipEntity;
+    private final boolean useShortNames;
+    private final boolean fullIndex;
+    private final boolean partial;
+    private final boolean autoAttach;
+    private final Map<String, String> propertyNames;
+    private final Set<String> mappedProperties;
+    private final Map<String, String> indexedProperties;
+    private final Map<String, Class<? extends RelationshipBacked>> relationshipEntityTypes;
+
+    private GraphEntityMetadata(final Class<?> type) {
+        this.type = type;
+        final NodeEntity nodeEntityAnnotation = type.getAnnotation(NodeEntity.class);
+        final RelationshipEntity relationshipEntityAnnotation = nodeEntityAnnotation == null ? type.getAnnotation(RelationshipEntity.class) : null;
+        this.nodeEntity = nodeEntityAnnotation != null;
+        this.relationshipEntity = relationshipEntityAnnotation != null;
+        if (nodeEntity) {
+            this.useShortNames = nodeEntityAnnotation.useShortNames();
+            this.fullIndex = nodeEntityAnnotation.fullIndex();
+            this.partial = nodeEntityAnnotation.partial();
+            this.autoAttach = nodeEntityAnnotation.autoAttach();
+        } else {
+            this.useShortNames = relationshipEntity && relationshipEntityAnnotation.useShortNames();
+            this.fullIndex = false;
+            this.partial = false;
+            this.autoAttach = false;
+        }
+        this.propertyNames = createPropertyNames(type);
+        this.mappedProperties = Collections.unmodifiableSet(new HashSet<String>(propertyNames.values()));
+        this.indexedProperties = createIndexedProperties(type);
+        this.relationshipEntityTypes = createRelationshipEntityTypes(type);
+    }
+
+    private Map<String, String> createPropertyNames(final Class<?> type) {
+        final Map<String, String> result = new HashMap<String, String>();
+        for (final Field field : type.getDeclaredFields()) {
+            result.put(field.getName(), createPropertyName(field));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Map<String, String> createIndexedProperties(final Class<?> type) {
+        final Map<String, String> result = new HashMap<String, String>();
+        for (final Field field : type.getDeclaredFields()) {
+            if (isIndexed(field)) result.put(getPropertyName(field), getIndexName(field));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private Map<String, Class<? extends RelationshipBacked>> createRelationshipEntityTypes(final Class<?> type) {
+        final Map<String, Class<? extends RelationshipBacked>> result = new HashMap<String, Class<? extends RelationshipBacked>>();
+        for (final Field field : type.getDeclaredFields()) {
+            final RelatedToVia relatedToVia = field.getAnnotation(RelatedToVia.class);
+            if (relatedToVia == null || RelationshipBacked.class.equals(relatedToVia.elementClass())) continue;
+            result.put(relatedToVia.type(), relatedToVia.elementClass());
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private boolean isIndexed(final Field field) {
+        if (field.isAnnotationPresent(Indexed.class)) return true;
+        final int modifiers = field.getModifiers();
+        return fullIndex && !field.isSynthetic() && !Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers);
+    }
+
+    private String createPropertyName(final Field field) {
+        if (useShortNames) return field.getName().intern();
+        return String.format("%s.%s", type.getSimpleName(), field.getName()).intern();
+    }
+
+    public static GraphEntityMetadata forType(final Class<?> type) {
+        final GraphEntityMetadata metadata = metadataCache.get(type);
+        if (metadata != null) return metadata;
+        final GraphEntityMetadata newMetadata = new GraphEntityMetadata(type);
+        final GraphEntityMetadata existing = metadataCache.putIfAbsent(type, newMetadata);
+        return existing != null ? existing : newMetadata;
+    }
+
+    /**
+     * @param field field declared by this type
+     * @return the neo4j property name of the field, the short field name or the field name prefixed with the class name
+     */
+    public String getPropertyName(final Field field) {
+        final String propertyName = propertyNames.get(field.getName());
+        return propertyName != null ? propertyName : createPropertyName(field);
+    }
+
+    /**
+     * @param field field declared by this type
+     * @return the index name of the field's {@link Indexed} annotation or of the class's one, null for the default index
+     */
+    public String getIndexName(final Field field) {
+        final Indexed indexed = field.getAnnotation(Indexed.class);
+        if (hasIndexName(indexed)) return indexed.indexName();
+        final Indexed indexedEntity = type.getAnnotation(Indexed.class);
+        return hasIndexName(indexedEntity) ? indexedEntity.indexName() : null;
+    }
+
+    private static boolean hasIndexName(final Indexed indexed) {
+        return indexed != null && !indexed.indexName().isEmpty();
+    }
+
+    /**
+     * @return property names of the indexed fields declared by this type mapped to their index name, null for the default index
+     */
+    public Map<String, String> getIndexedProperties() {
+        return indexedProperties;
+    }
+
+    /**
+     * @return true if the property belongs to a field declared by this type
+     */
+    public boolean isMappedProperty(final String property) {
+        return mappedProperties.contains(property);
+    }
+
+    /**
+     * @param relationshipType name of a relationship type
+     * @return relationship entity class of the {@link RelatedToVia} field declared by this type for the relationship type, or null
+     */
+    public Class<? extends RelationshipBacked> getRelationshipEntityType(final String relationshipType) {
+        return relationshipEntityTypes.get(relationshipType);
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public boolean isNodeEntity() {
+        return nodeEntity;
+    }
+
+    public boolean isRelationshipEntity() {
+        return relationshipEntity;
+    }
+
+    public boolean isUseShortNames() {
+        return useShortNames;
+    }
+
+    public boolean isFullIndex() {
+        return fullIndex;
+    }
+
+    public boolean isPartial() {
+        return partial;
+    }
+
+    public boolean isAutoAttach() {
+        return autoAttach;
+    }
+}
@@ -18,15 +18,9 @@ package org.springframework.data.graph.neo4j.fieldaccess;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
-import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.PropertyContainer;
-import org.neo4j.graphdb.Relationship;
-import org.neo4j.graphdb.index.Index;
-import org.neo4j.index.impl.lucene.ValueContext;
 import org.springframework.data.annotation.Indexed;
-import org.springframework.data.graph.annotation.NodeEntity;
 import org.springframework.data.graph.core.GraphBacked;
-import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
 import java.lang.reflect.AnnotatedElement;
@@ -53,8 +47,7 @@ class IndexingNodePropertyFieldAccessorListenerFactory<T extends GraphBacked<?>>
     private boolean isIndexed(final Field f) {
         final Indexed indexedAnnotation = getIndexedAnnotation(f);
         if (indexedAnnotation != null) return true;
-        final NodeEntity entityAnnotation = f.getDeclaringClass().getAnnotation(NodeEntity.class);
-        return (entityAnnotation!=null && entityAnnotation.fullIndex());
+        return GraphEntityMetadata.forType(f.getDeclaringClass()).isFullIndex();
     }
 
     private boolean isPropertyField(final Field f) {
@@ -63,29 +56,17 @@ class IndexingNodePropertyFieldAccessorListenerFactory<T extends GraphBacked<?>>
 
     @Override
     public FieldAccessListener<T, ?> forField(Field field) {
-        String indexName = getIndexName(field);
-        if (NodeBacked.class.isAssignableFrom(field.getDeclaringClass())) {
-            return (FieldAccessListener<T, ?>) new IndexingNodePropertyFieldAccessorListener<Node>(field, graphDatabaseContext.getNodeIndex(indexName));
-        }
-        return (FieldAccessListener<T, ?>) new IndexingNodePropertyFieldAccessorListener<Relationship>(field, graphDatabaseContext.getRelationshipIndex(indexName));
+        return (FieldAccessListener<T, ?>) new IndexingNodePropertyFieldAccessorListener(field, getIndexName(field), graphDatabaseContext);
     }
 
     private String getIndexName(Field field) {
-        Indexed indexed = getIndexedAnnotation(field);
-        if (hasIndexName(indexed)) return indexed.indexName();
-
-        final Indexed indexedEntity = getIndexedAnnotation(field.getDeclaringClass());
-        return hasIndexName( indexedEntity ) ?  indexedEntity.indexName() : null;
+        return GraphEntityMetadata.forType(field.getDeclaringClass()).getIndexName(field);
     }
 
     private Indexed getIndexedAnnotation(AnnotatedElement element) {
         return element.getAnnotation(Indexed.class);
     }
 
-    private boolean hasIndexName(Indexed indexed) {
-        return indexed!=null && !indexed.indexName().isEmpty();
-    }
-
     /**
 	 * @author Michael Hunger
 	 * @since 12.09.2010
@@ -95,19 +76,21 @@ class IndexingNodePropertyFieldAccessorListenerFactory<T extends GraphBacked<?>>
 	    private final static Log log = LogFactory.getLog( IndexingNodePropertyFieldAccessorListener.class );
 
 	    protected final String indexKey;
-        private final Index<T> index;
+        private final String indexName;
+        private final GraphDatabaseContext graphDatabaseContext;
 
-        public IndexingNodePropertyFieldAccessorListener(final Field field,  final Index<T> index) {
+        public IndexingNodePropertyFieldAccessorListener(final Field field, final String indexName, final GraphDatabaseContext graphDatabaseContext) {
 	        this.indexKey = DelegatingFieldAccessorFactory.getNeo4jPropertyName(field);
-            this.index = index;
+            this.indexName = indexName;
+            this.graphDatabaseContext = graphDatabaseContext;
         }
 
+	    /**
+	     * the update is collected by the {@link GraphDatabaseContext} and written to the index once before the transaction commits
+	     */
 	    @Override
         public void valueChanged(GraphBacked<T> graphBacked, Object oldVal, Object newVal) {
-            if (newVal instanceof Number) newVal = ValueContext.numeric((Number) newVal);
-
-            if (newVal==null) index.remove(graphBacked.getUnderlyingState(), indexKey, null);
-	        else index.add(graphBacked.getUnderlyingState(), indexKey, newVal);
+            graphDatabaseContext.updateIndex(indexName, graphBacked.getUnderlyingState(), indexKey, oldVal, newVal);
 	    }
     }
 }
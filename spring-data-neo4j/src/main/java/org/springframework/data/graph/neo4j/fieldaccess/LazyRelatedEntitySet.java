@@ -0,0 +1,89 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.fieldaccess;
+
+import org.springframework.data.graph.core.GraphBacked;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read only set view of the targets of a relationship field. The relationships of the entity are read on each access,
+ * target entities are only created for the elements that are actually iterated. {@link #size()} and {@link #contains(Object)}
+ * work on the underlying nodes or relationships without creating entities. Targets are only de-duplicated for relationship
+ * fields that can relate a target twice.
+ */
+class LazyRelatedEntitySet<ENTITY extends GraphBacked, STATE, TARGET extends GraphBacked, TSTATE> extends AbstractSet<TARGET> {
+    private final ENTITY entity;
+    private final AbstractNodeRelationshipFieldAccessor<ENTITY, STATE, TARGET, TSTATE> fieldAccessor;
+
+    LazyRelatedEntitySet(final ENTITY entity, final AbstractNodeRelationshipFieldAccessor<ENTITY, STATE, TARGET, TSTATE> fieldAccessor) {
+        this.entity = entity;
+        this.fieldAccessor = fieldAccessor;
+    }
+
+    @Override
+    public Iterator<TARGET> iterator() {
+        final Iterator<TSTATE> states = fieldAccessor.getStatesFromEntity(entity).iterator();
+        return new Iterator<TARGET>() {
+            private final Set<TSTATE> seen = fieldAccessor.allowsDuplicateTargets() ? new HashSet<TSTATE>() : null;
+            private TSTATE next;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null && states.hasNext()) {
+                    final TSTATE state = states.next();
+                    if (seen == null || seen.add(state)) next = state;
+                }
+                return next != null;
+            }
+
+            @Override
+            public TARGET next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                final TSTATE state = next;
+                next = null;
+                return fieldAccessor.createEntityFromState(state);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    @Override
+    public int size() {
+        return fieldAccessor.countStates(entity);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !fieldAccessor.hasStates(entity);
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        if (!fieldAccessor.relatedType.isInstance(o)) return false;
+        final TSTATE state = ((GraphBacked<TSTATE>) o).getUnderlyingState();
+        return state != null && fieldAccessor.containsState(entity, state);
+    }
+}
@@ -17,28 +17,37 @@
 package org.springframework.data.graph.neo4j.fieldaccess;
 
 import java.util.AbstractSet;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
 /**
+ * A lazy {@link LazyRelatedEntitySet} delegate is copied on the first modification.
+ * For relationship fields only the added or removed element is written to the graph, otherwise the whole set is
+ * written with {@link FieldAccessor#setValue}.
  * TODO handle all mutating methods
  * @param <T>
  */
 public class ManagedFieldAccessorSet<ENTITY,T> extends AbstractSet<T> {
 	private final ENTITY entity;
-	final Set<T> delegate;
+	Set<T> delegate;
 	private final FieldAccessor<ENTITY> fieldAccessor;
+	private final AbstractNodeRelationshipFieldAccessor relationshipFieldAccessor;
 
 	public ManagedFieldAccessorSet(final ENTITY entity, final Object newVal, final FieldAccessor fieldAccessor) {
 		this.entity = entity;
 		this.fieldAccessor = fieldAccessor;
+		this.relationshipFieldAccessor = fieldAccessor instanceof AbstractNodeRelationshipFieldAccessor ? (AbstractNodeRelationshipFieldAccessor) fieldAccessor : null;
 		delegate = (Set<T>) newVal;
 	}
 
 	@Override
 	public Iterator<T> iterator() {
         final Iterator<T> iterator = delegate.iterator();
+        final boolean lazy = isLazy();
         return new Iterator<T>() {
+            private T current;
+
             @Override
             public boolean hasNext() {
                 return iterator.hasNext();
@@ -46,17 +55,38 @@ public class ManagedFieldAccessorSet<ENTITY,T> extends AbstractSet<T> {
 
             @Override
             public T next() {
-                return iterator.next();
+                current = iterator.next();
+                return current;
             }
 
             @Override
             public void remove() {
-                iterator.remove();
+                if (relationshipFieldAccessor != null) {
+                    relationshipFieldAccessor.removeTarget(entity, current);
+                    if (!lazy) iterator.remove();
+                    return;
+                }
+                if (lazy) {
+                    mutableDelegate().remove(current);
+                } else {
+                    iterator.remove();
+                }
                 update();
             }
         };
 	}
 
+    private boolean isLazy() {
+        return delegate instanceof LazyRelatedEntitySet;
+    }
+
+    private Set<T> mutableDelegate() {
+        if (isLazy()) {
+            delegate = new HashSet<T>(delegate);
+        }
+        return delegate;
+    }
+
     private void update() {
         fieldAccessor.setValue(entity, delegate);
     }
@@ -66,10 +96,37 @@ public class ManagedFieldAccessorSet<ENTITY,T> extends AbstractSet<T> {
 		return delegate.size();
 	}
 
+    @Override
+    public boolean isEmpty() {
+        return delegate.isEmpty();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return delegate.contains(o);
+    }
+
 	@Override
 	public boolean add(final T e) {
-		final boolean res = delegate.add(e);
+        if (relationshipFieldAccessor != null) {
+            if (delegate.contains(e)) return false;
+            relationshipFieldAccessor.addTarget(entity, e);
+            if (!isLazy()) delegate.add(e);
+            return true;
+        }
+		final boolean res = mutableDelegate().add(e);
 		if (res) update();
 		return res;
 	}
-}
\ No newline at end of file
+
+    @Override
+    public boolean remove(final Object o) {
+        if (relationshipFieldAccessor != null) {
+            if (!delegate.contains(o)) return false;
+            relationshipFieldAccessor.removeTarget(entity, o);
+            if (!isLazy()) delegate.remove(o);
+            return true;
+        }
+        return super.remove(o);
+    }
+}
@@ -17,7 +17,6 @@
 package org.springframework.data.graph.neo4j.fieldaccess;
 
 import org.neo4j.graphdb.Node;
-import org.springframework.data.graph.annotation.NodeEntity;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
@@ -32,11 +31,13 @@ public class NodeEntityStateAccessorsFactory {
 
 	private NodeDelegatingFieldAccessorFactory nodeDelegatingFieldAccessorFactory;
 
+	private volatile PartialNodeDelegatingFieldAccessorFactory partialNodeDelegatingFieldAccessorFactory;
+
 	public EntityStateAccessors<NodeBacked,Node> getEntityStateAccessors(final NodeBacked entity) {
-        final NodeEntity graphEntityAnnotation = entity.getClass().getAnnotation(NodeEntity.class); // todo cache ??
-        boolean autoAttach = graphEntityAnnotation.autoAttach();
-        if (graphEntityAnnotation.partial()) {
-            PartialNodeEntityStateAccessors<NodeBacked> partialNodeEntityStateAccessors = new PartialNodeEntityStateAccessors<NodeBacked>(null, entity, entity.getClass(), graphDatabaseContext, finderFactory);
+        final GraphEntityMetadata metadata = GraphEntityMetadata.forType(entity.getClass());
+        boolean autoAttach = metadata.isAutoAttach();
+        if (metadata.isPartial()) {
+            PartialNodeEntityStateAccessors<NodeBacked> partialNodeEntityStateAccessors = new PartialNodeEntityStateAccessors<NodeBacked>(null, entity, entity.getClass(), graphDatabaseContext, getPartialNodeDelegatingFieldAccessorFactory());
             return new DetachableEntityStateAccessors<NodeBacked, Node>(partialNodeEntityStateAccessors, graphDatabaseContext, false) {
                 @Override
                 protected boolean transactionIsRunning() {
@@ -58,6 +59,25 @@ public class NodeEntityStateAccessorsFactory {
 		this.nodeDelegatingFieldAccessorFactory = nodeDelegatingFieldAccessorFactory;
 	}
 	
+	/**
+	 * the field accessors of partial entities are shared, a default factory is created if none was configured
+	 */
+	private PartialNodeDelegatingFieldAccessorFactory getPartialNodeDelegatingFieldAccessorFactory() {
+		if (partialNodeDelegatingFieldAccessorFactory == null) {
+			synchronized (this) {
+				if (partialNodeDelegatingFieldAccessorFactory == null) {
+					partialNodeDelegatingFieldAccessorFactory = new PartialNodeDelegatingFieldAccessorFactory(graphDatabaseContext, finderFactory);
+				}
+			}
+		}
+		return partialNodeDelegatingFieldAccessorFactory;
+	}
+
+	public void setPartialNodeDelegatingFieldAccessorFactory(
+			PartialNodeDelegatingFieldAccessorFactory partialNodeDelegatingFieldAccessorFactory) {
+		this.partialNodeDelegatingFieldAccessorFactory = partialNodeDelegatingFieldAccessorFactory;
+	}
+
 	public void setGraphDatabaseContext(GraphDatabaseContext graphDatabaseContext) {
 		this.graphDatabaseContext = graphDatabaseContext;
 	}
@@ -20,13 +20,11 @@ import org.neo4j.graphdb.Direction;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.Relationship;
 import org.neo4j.graphdb.RelationshipType;
+import org.neo4j.helpers.collection.IterableWrapper;
 import org.springframework.data.graph.core.GraphBacked;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
-import java.util.HashSet;
-import java.util.Set;
-
 /**
  * @author Michael Hunger
  * @since 12.09.2010
@@ -38,21 +36,43 @@ public abstract class NodeToNodesRelationshipFieldAccessor<TARGET extends GraphB
 
     @Override
     protected Relationship obtainSingleRelationship(final Node start, final Node end) {
-        final Iterable<Relationship> existingRelationships = start.getRelationships(type, direction);
-        for (final Relationship existingRelationship : existingRelationships) {
-            if (existingRelationship!=null && existingRelationship.getOtherNode(start).equals(end)) return existingRelationship;
-        }
+        final Relationship existingRelationship = graphDatabaseContext.getRelationshipTo(start, end, type, Direction.OUTGOING);
+        if (existingRelationship != null) return existingRelationship;
+        return createRelationship(start, end);
+    }
+
+    @Override
+    protected Relationship createRelationship(final Node start, final Node end) {
         return start.createRelationshipTo(end, type);
     }
 
+    @Override
+    protected void removeRelationshipsTo(final Node start, final Node end) {
+        Relationship relationship;
+        while ((relationship = graphDatabaseContext.getRelationshipTo(start, end, type, direction)) != null) {
+            relationship.delete();
+        }
+    }
+
+    @Override
+    protected boolean containsState(final NodeBacked entity, final Node target) {
+        return graphDatabaseContext.getRelationshipTo(getState(entity), target, type, direction) != null;
+    }
+
+    @Override
+    protected boolean hasStates(final NodeBacked entity) {
+        return getState(entity).hasRelationship(type, direction);
+    }
+
     @Override
     protected Iterable<Node> getStatesFromEntity(final NodeBacked entity) {
         final Node entityNode = getState(entity);
-        final Set<Node> result = new HashSet<Node>();
-        for (final Relationship rel : entityNode.getRelationships(type, direction)) {
-            result.add(rel.getOtherNode(entityNode));
-		}
-        return result;
+        return new IterableWrapper<Node, Relationship>(entityNode.getRelationships(type, direction)) {
+            @Override
+            protected Node underlyingObjectToObject(final Relationship rel) {
+                return rel.getOtherNode(entityNode);
+            }
+        };
     }
 
     @Override
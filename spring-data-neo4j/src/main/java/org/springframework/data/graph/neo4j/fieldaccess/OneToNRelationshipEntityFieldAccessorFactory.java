@@ -24,7 +24,6 @@ import org.springframework.data.graph.core.RelationshipBacked;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
 import java.lang.reflect.Field;
-import java.util.HashSet;
 import java.util.Set;
 
 import static org.springframework.data.graph.neo4j.fieldaccess.DoReturn.doReturn;
@@ -90,29 +89,40 @@ public class OneToNRelationshipEntityFieldAccessorFactory implements FieldAccess
 	    @Override
 	    public Object getValue(final NodeBacked entity) {
 	        checkUnderlyingNode(entity);
-	        final Set<RelationshipBacked> result = createEntitySetFromRelationships(entity);
+	        final Set<RelationshipBacked> result = createEntitySetFromRelationshipEndNodes(entity);
 	        return doReturn(new ManagedFieldAccessorSet<NodeBacked, RelationshipBacked>(entity, result, this));
 	    }
 
-	    private Set<RelationshipBacked> createEntitySetFromRelationships(final NodeBacked entity) {
-	        final Set<RelationshipBacked> result = new HashSet<RelationshipBacked>();
-	        for (final Relationship rel : getStatesFromEntity(entity)) {
-	            final RelationshipBacked relationshipEntity = graphDatabaseContext.createEntityFromState(rel, relatedType);
-	            result.add(relationshipEntity);
-	        }
-	        return result;
-	    }
-
 	    @Override
 	    protected Iterable<Relationship> getStatesFromEntity(final NodeBacked entity) {
 	        return entity.getUnderlyingState().getRelationships(type, direction);
 	    }
 
+	    @Override
+	    protected boolean allowsDuplicateTargets() {
+	        return false;
+	    }
+
+	    @Override
+	    protected boolean hasStates(final NodeBacked entity) {
+	        return entity.getUnderlyingState().hasRelationship(type, direction);
+	    }
+
 	    @Override
 	    protected Relationship obtainSingleRelationship(final Node start, final Relationship end) {
 	        return null;
 	    }
 
+	    @Override
+	    protected Relationship createRelationship(final Node start, final Relationship end) {
+	        return null;
+	    }
+
+	    @Override
+	    protected void removeRelationshipsTo(final Node start, final Relationship end) {
+	        throw new InvalidDataAccessApiUsageException("Cannot set read-only relationship entity field.");
+	    }
+
 	    @Override
 	    protected Node getState(final NodeBacked nodeBacked) {
 	        return nodeBacked.getUnderlyingState();
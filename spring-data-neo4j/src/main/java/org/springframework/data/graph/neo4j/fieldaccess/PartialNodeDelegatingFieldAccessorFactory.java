@@ -0,0 +1,94 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.fieldaccess;
+
+import org.springframework.data.graph.annotation.GraphProperty;
+import org.springframework.data.graph.annotation.RelatedTo;
+import org.springframework.data.graph.core.NodeBacked;
+import org.springframework.data.graph.neo4j.finder.FinderFactory;
+import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
+
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Field accessors for partial (cross-store) node entities, only fields annotated with {@link GraphProperty} and
+ * {@link RelatedTo} are stored in the graph.
+ *
+ * @author Michael Hunger
+ * @since 21.09.2010
+ */
+public class PartialNodeDelegatingFieldAccessorFactory extends DelegatingFieldAccessorFactory<NodeBacked> {
+
+    public PartialNodeDelegatingFieldAccessorFactory(GraphDatabaseContext graphDatabaseContext, FinderFactory finderFactory) {
+        super(graphDatabaseContext, finderFactory);
+    }
+
+    @Override
+    protected Collection<FieldAccessorListenerFactory<?>> createListenerFactories() {
+        return Arrays.<FieldAccessorListenerFactory<?>>asList(
+                new IndexingNodePropertyFieldAccessorListenerFactory(
+                        graphDatabaseContext,
+                        newPropertyFieldAccessorFactory(),
+                        newConvertingNodePropertyFieldAccessorFactory()) {
+                    @Override
+                    public boolean accept(Field f) {
+                        return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
+                    }
+                },
+                new JpaIdFieldAccessListenerFactory());
+    }
+
+    @Override
+    protected Collection<? extends FieldAccessorFactory<?>> createAccessorFactories() {
+        return Arrays.<FieldAccessorFactory<?>>asList(
+                //new IdFieldAccessorFactory(),
+                //new TransientFieldAccessorFactory(),
+                newPropertyFieldAccessorFactory(),
+                newConvertingNodePropertyFieldAccessorFactory(),
+                new SingleRelationshipFieldAccessorFactory(graphDatabaseContext) {
+                    @Override
+                    public boolean accept(Field f) {
+                        return f.isAnnotationPresent(RelatedTo.class) && super.accept(f);
+                    }
+                },
+                new OneToNRelationshipFieldAccessorFactory(graphDatabaseContext),
+                new ReadOnlyOneToNRelationshipFieldAccessorFactory(graphDatabaseContext),
+                new TraversalFieldAccessorFactory(finderFactory),
+                new OneToNRelationshipEntityFieldAccessorFactory(graphDatabaseContext)
+        );
+    }
+
+    private ConvertingNodePropertyFieldAccessorFactory newConvertingNodePropertyFieldAccessorFactory() {
+        return new ConvertingNodePropertyFieldAccessorFactory(graphDatabaseContext.getConversionService()) {
+            @Override
+            public boolean accept(Field f) {
+                return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
+            }
+        };
+    }
+
+    private PropertyFieldAccessorFactory newPropertyFieldAccessorFactory() {
+        return new PropertyFieldAccessorFactory() {
+            @Override
+            public boolean accept(Field f) {
+                return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
+            }
+        };
+    }
+}
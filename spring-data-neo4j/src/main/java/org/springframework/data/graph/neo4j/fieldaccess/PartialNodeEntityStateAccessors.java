@@ -20,17 +20,12 @@ import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.index.IndexHits;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
-import org.springframework.data.graph.annotation.GraphProperty;
-import org.springframework.data.graph.annotation.RelatedTo;
 import org.springframework.data.graph.core.NodeBacked;
-import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 import org.springframework.persistence.support.StateProvider;
 
 import javax.persistence.Id;
 import java.lang.reflect.Field;
-import java.util.Arrays;
-import java.util.Collection;
 
 /**
  * @author Michael Hunger
@@ -43,62 +38,8 @@ public class PartialNodeEntityStateAccessors<ENTITY extends NodeBacked> extends
 
     private final GraphDatabaseContext graphDatabaseContext;
 
-    public PartialNodeEntityStateAccessors(final Node underlyingState, final ENTITY entity, final Class<? extends ENTITY> type, final GraphDatabaseContext graphDatabaseContext, final FinderFactory finderFactory) {
-    	super(underlyingState, entity, type, new DelegatingFieldAccessorFactory(graphDatabaseContext, finderFactory) {
-        	
-            @Override
-            protected Collection<FieldAccessorListenerFactory<?>> createListenerFactories() {
-                return Arrays.<FieldAccessorListenerFactory<?>>asList(
-                        new IndexingNodePropertyFieldAccessorListenerFactory(
-                        		getGraphDatabaseContext(),
-                        		newPropertyFieldAccessorFactory(),
-                        		newConvertingNodePropertyFieldAccessorFactory()) {
-		                            @Override
-		                            public boolean accept(Field f) {
-		                                return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
-		                            }
-		                        },
-		                        new JpaIdFieldAccessListenerFactory());
-            }
-
-            @Override
-            protected Collection<? extends FieldAccessorFactory<?>> createAccessorFactories() {
-                return Arrays.<FieldAccessorFactory<?>>asList(
-                        //new IdFieldAccessorFactory(),
-                        //new TransientFieldAccessorFactory(),
-                        newPropertyFieldAccessorFactory(),
-                        newConvertingNodePropertyFieldAccessorFactory(),
-                        new SingleRelationshipFieldAccessorFactory(getGraphDatabaseContext()) {
-                            @Override
-                            public boolean accept(Field f) {
-                                return f.isAnnotationPresent(RelatedTo.class) && super.accept(f);
-                            }
-                        },
-                        new OneToNRelationshipFieldAccessorFactory(getGraphDatabaseContext()),
-                        new ReadOnlyOneToNRelationshipFieldAccessorFactory(getGraphDatabaseContext()),
-                        new TraversalFieldAccessorFactory(finderFactory),
-                        new OneToNRelationshipEntityFieldAccessorFactory(getGraphDatabaseContext())
-                );
-            }
-
-            private ConvertingNodePropertyFieldAccessorFactory newConvertingNodePropertyFieldAccessorFactory() {
-                return new ConvertingNodePropertyFieldAccessorFactory(getGraphDatabaseContext().getConversionService()) {
-                    @Override
-                    public boolean accept(Field f) {
-                        return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
-                    }
-                };
-            }
-
-            private PropertyFieldAccessorFactory newPropertyFieldAccessorFactory() {
-                return new PropertyFieldAccessorFactory() {
-                    @Override
-                    public boolean accept(Field f) {
-                        return f.isAnnotationPresent(GraphProperty.class) && super.accept(f);
-                    }
-                };
-            }
-        });
+    public PartialNodeEntityStateAccessors(final Node underlyingState, final ENTITY entity, final Class<? extends ENTITY> type, final GraphDatabaseContext graphDatabaseContext, final PartialNodeDelegatingFieldAccessorFactory delegatingFieldAccessorFactory) {
+    	super(underlyingState, entity, type, delegatingFieldAccessorFactory);
         this.graphDatabaseContext = graphDatabaseContext;
     }
 
@@ -110,7 +51,7 @@ public class PartialNodeEntityStateAccessors<ENTITY extends NodeBacked> extends
             final Object id = getId(entity,type);
             if (id == null) return;
             final String foreignId = createForeignId(id);
-            IndexHits<Node> indexHits = graphDatabaseContext.getNodeIndex(FOREIGN_ID_INDEX).get(FOREIGN_ID, foreignId);
+            IndexHits<Node> indexHits = graphDatabaseContext.getNodeIndexForQuery(FOREIGN_ID_INDEX).get(FOREIGN_ID, foreignId);
             Node node = indexHits.hasNext() ? indexHits.next() : null;
             if (node == null) {
                 node = graphDatabaseContext.createNode();
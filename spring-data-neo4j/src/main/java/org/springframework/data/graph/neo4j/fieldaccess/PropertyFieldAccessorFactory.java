@@ -50,9 +50,13 @@ public class PropertyFieldAccessorFactory implements FieldAccessorFactory<GraphB
 
     public static class PropertyFieldAccessor implements FieldAccessor<GraphBacked<PropertyContainer>> {
         protected final Field field;
+        private final String propertyName;
+        private final Object defaultValue;
 
         public PropertyFieldAccessor(final Field field) {
             this.field = field;
+            this.propertyName = DelegatingFieldAccessorFactory.getNeo4jPropertyName(field).intern();
+            this.defaultValue = getDefaultValue(field.getType());
         }
 
         @Override
@@ -64,9 +68,9 @@ public class PropertyFieldAccessorFactory implements FieldAccessorFactory<GraphB
         public Object setValue(final GraphBacked<PropertyContainer> graphBacked, final Object newVal) {
             final PropertyContainer propertyContainer = graphBacked.getUnderlyingState();
             if (newVal==null) {
-                propertyContainer.removeProperty(getPropertyName());
+                propertyContainer.removeProperty(propertyName);
             } else {
-                propertyContainer.setProperty(getPropertyName(), newVal);
+                propertyContainer.setProperty(propertyName, newVal);
             }
             return newVal;
         }
@@ -77,11 +81,11 @@ public class PropertyFieldAccessorFactory implements FieldAccessorFactory<GraphB
         }
 
         protected Object doGetValue(final GraphBacked<PropertyContainer> graphBacked) {
-            return graphBacked.getUnderlyingState().getProperty(getPropertyName(), getDefaultValue(field.getType()));
+            return graphBacked.getUnderlyingState().getProperty(propertyName, defaultValue);
         }
 
-        private String getPropertyName() {
-            return DelegatingFieldAccessorFactory.getNeo4jPropertyName(field);
+        public String getPropertyName() {
+            return propertyName;
         }
 
         private Object getDefaultValue(final Class<?> type) {
@@ -20,12 +20,8 @@ import org.neo4j.graphdb.NotInTransactionException;
 import org.neo4j.graphdb.Relationship;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.data.graph.core.RelationshipBacked;
-import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
-import java.util.Arrays;
-import java.util.Collection;
-
 /**
  * @author Michael Hunger
  * @since 21.09.2010
@@ -33,33 +29,10 @@ import java.util.Collection;
 public class RelationshipEntityStateAccessors<ENTITY extends RelationshipBacked> extends DefaultEntityStateAccessors<ENTITY, Relationship> {
 
     private final GraphDatabaseContext graphDatabaseContext;
-    
-    private final FinderFactory finderFactory;
-
-    public RelationshipEntityStateAccessors(final Relationship underlyingState, final ENTITY entity, final Class<? extends ENTITY> type, final GraphDatabaseContext graphDatabaseContext, final FinderFactory finderFactory) {
-        super(underlyingState, entity, type, new DelegatingFieldAccessorFactory(graphDatabaseContext, finderFactory) {
-            @Override
-            protected Collection<FieldAccessorListenerFactory<?>> createListenerFactories() {
-                return Arrays.<FieldAccessorListenerFactory<?>>asList(
-                        new IndexingNodePropertyFieldAccessorListenerFactory(
-                		graphDatabaseContext,
-                		new PropertyFieldAccessorFactory(),
-                		new ConvertingNodePropertyFieldAccessorFactory(graphDatabaseContext.getConversionService())
-                ));
-            }
 
-            @Override
-            protected Collection<? extends FieldAccessorFactory<?>> createAccessorFactories() {
-                return Arrays.<FieldAccessorFactory<?>>asList(
-                        new TransientFieldAccessorFactory(),
-                        new RelationshipNodeFieldAccessorFactory(graphDatabaseContext),
-                        new PropertyFieldAccessorFactory(),
-                        new ConvertingNodePropertyFieldAccessorFactory(graphDatabaseContext.getConversionService())
-                );
-            }
-        });
+    public RelationshipEntityStateAccessors(final Relationship underlyingState, final ENTITY entity, final Class<? extends ENTITY> type, final GraphDatabaseContext graphDatabaseContext, final RelationshipDelegatingFieldAccessorFactory delegatingFieldAccessorFactory) {
+        super(underlyingState, entity, type, delegatingFieldAccessorFactory);
         this.graphDatabaseContext = graphDatabaseContext;
-        this.finderFactory = finderFactory;
     }
 
     @Override
@@ -27,8 +27,29 @@ public class RelationshipEntityStateAccessorsFactory {
 	
 	private FinderFactory finderFactory;
 
+	private volatile RelationshipDelegatingFieldAccessorFactory relationshipDelegatingFieldAccessorFactory;
+
 	public EntityStateAccessors<RelationshipBacked, Relationship> getEntityStateAccessors(final RelationshipBacked entity) {
-		return new RelationshipEntityStateAccessors<RelationshipBacked>(null,entity,entity.getClass(), graphDatabaseContext, finderFactory);
+		return new RelationshipEntityStateAccessors<RelationshipBacked>(null,entity,entity.getClass(), graphDatabaseContext, getRelationshipDelegatingFieldAccessorFactory());
+	}
+
+	/**
+	 * the field accessors of relationship entities are shared, a default factory is created if none was configured
+	 */
+	private RelationshipDelegatingFieldAccessorFactory getRelationshipDelegatingFieldAccessorFactory() {
+		if (relationshipDelegatingFieldAccessorFactory == null) {
+			synchronized (this) {
+				if (relationshipDelegatingFieldAccessorFactory == null) {
+					relationshipDelegatingFieldAccessorFactory = new RelationshipDelegatingFieldAccessorFactory(graphDatabaseContext, finderFactory);
+				}
+			}
+		}
+		return relationshipDelegatingFieldAccessorFactory;
+	}
+
+	public void setRelationshipDelegatingFieldAccessorFactory(
+			RelationshipDelegatingFieldAccessorFactory relationshipDelegatingFieldAccessorFactory) {
+		this.relationshipDelegatingFieldAccessorFactory = relationshipDelegatingFieldAccessorFactory;
 	}
 
 	public void setGraphDatabaseContext(GraphDatabaseContext graphDatabaseContext) {
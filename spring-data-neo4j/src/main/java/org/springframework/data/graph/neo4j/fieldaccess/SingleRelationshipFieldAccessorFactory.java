@@ -25,6 +25,7 @@ import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
 import java.lang.reflect.Field;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.Set;
 
 import static org.springframework.data.graph.neo4j.fieldaccess.DoReturn.doReturn;
@@ -70,8 +71,8 @@ public class SingleRelationshipFieldAccessorFactory extends NodeRelationshipFiel
 	    @Override
 		public Object getValue(final NodeBacked entity) {
 	        checkUnderlyingNode(entity);
-	        final Set<NodeBacked> result = createEntitySetFromRelationshipEndNodes(entity);
-            final NodeBacked singleEntity = result.isEmpty() ? null : result.iterator().next();
+	        final Iterator<NodeBacked> result = createEntitySetFromRelationshipEndNodes(entity).iterator();
+            final NodeBacked singleEntity = result.hasNext() ? result.next() : null;
             return doReturn(singleEntity);
 		}
 
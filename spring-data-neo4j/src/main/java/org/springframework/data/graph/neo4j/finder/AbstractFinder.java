@@ -1,18 +1,22 @@
 package org.springframework.data.graph.neo4j.finder;
 
 import org.apache.lucene.search.NumericRangeQuery;
+import org.apache.lucene.search.Sort;
 import org.neo4j.graphdb.Node;
 import org.neo4j.graphdb.NotFoundException;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.index.Index;
 import org.neo4j.graphdb.index.IndexHits;
 import org.neo4j.helpers.collection.IterableWrapper;
+import org.neo4j.index.impl.lucene.QueryContext;
 import org.neo4j.index.impl.lucene.ValueContext;
 import org.springframework.data.graph.core.GraphBacked;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.Callable;
 
 import static org.apache.lucene.search.NumericRangeQuery.*;
@@ -52,6 +56,60 @@ public abstract class AbstractFinder<S extends PropertyContainer, T extends Grap
         return graphDatabaseContext.findAll(clazz);
     }
 
+    /**
+     * @param offset number of instances to skip, skipped instances are not loaded
+     * @param limit maximum number of instances, negative for all
+     * @return lazy Iterable over a page of the instances of the target type.
+     */
+    @Override
+    public Iterable<T> findAll(final int offset, final int limit) {
+        return createEntities(SlicedIterable.slice(findAllStates(), offset, limit));
+    }
+
+    /**
+     * Keyset based paging, continues after the last element of the previous page.
+     *
+     * @param id id of the last instance of the previous page
+     * @param limit maximum number of instances, negative for all
+     * @return lazy Iterable over the instances after the one with the given id, its iteration throws an
+     * IllegalArgumentException if there is no instance with this id (e.g. because it was deleted).
+     */
+    @Override
+    public Iterable<T> findAllAfter(final long id, final int limit) {
+        return createEntities(SlicedIterable.after(findAllStates(), id, limit));
+    }
+
+    protected abstract Iterable<S> findAllStates();
+
+    /**
+     * @param projectionType interface with getters for the fields of the target type that should be read
+     * @return lazy Iterable over read only views of all instances of the target type, no entities are created
+     */
+    @Override
+    public <P> Iterable<P> findAllProjected(final Class<P> projectionType) {
+        return project(findAllStates(), projectionType);
+    }
+
+    /**
+     * Index based finder returning read only views.
+     *
+     * @param projectionType interface with getters for the fields of the target type that should be read
+     * @return lazy Iterable over read only views of the Entities with this property and value
+     */
+    @Override
+    public <P> Iterable<P> findAllByPropertyValueProjected(final String indexName, final String property, final Object value, final Class<P> projectionType) {
+        return project(getIndexHits(indexName, property, value), projectionType);
+    }
+
+    private <P> Iterable<P> project(final Iterable<S> states, final Class<P> projectionType) {
+        final PropertyProjection<P> projection = new PropertyProjection<P>(clazz, projectionType, graphDatabaseContext.getConversionService());
+        return new IterableWrapper<P, S>(states) {
+            protected P underlyingObjectToObject(final S state) {
+                return projection.project(state);
+            }
+        };
+    }
+
     /**
      * @param id id
      * @return Entity with the given id or null.
@@ -65,6 +123,41 @@ public abstract class AbstractFinder<S extends PropertyContainer, T extends Grap
         }
     }
 
+    /**
+     * Bulk lookup by id, missing ids are skipped. The found states are converted together, see {@link #createAllEntities(java.util.List)}.
+     *
+     * @param ids ids
+     * @return Entities with the given ids in the order of the ids
+     */
+    @Override
+    public List<T> findAllById(final long... ids) {
+        final List<S> states = new ArrayList<S>(ids.length);
+        for (final long id : ids) {
+            final S state = findState(id);
+            if (state != null) states.add(state);
+        }
+        return createAllEntities(states);
+    }
+
+    /**
+     * @return Entities for the states in their order, subclasses can resolve the types of all states at once
+     */
+    protected List<T> createAllEntities(final List<S> states) {
+        final List<T> result = new ArrayList<T>(states.size());
+        for (S state : states) {
+            result.add(createEntity(state));
+        }
+        return result;
+    }
+
+    private S findState(final long id) {
+        try {
+            return getById(id);
+        } catch (NotFoundException e) {
+            return null;
+        }
+    }
+
     /**
      * Index based single finder.
      *
@@ -113,29 +206,101 @@ public abstract class AbstractFinder<S extends PropertyContainer, T extends Grap
         });
     }
 
+    /**
+     * Index based finder for a page of the results.
+     *
+     * @param indexName or null for default index
+     * @param property
+     * @param value
+     * @param offset number of hits to skip, skipped hits are not loaded
+     * @param limit maximum number of hits, negative for all
+     * @return Iterable over Entities with this property and value
+     */
+    @Override
+    public Iterable<T> findAllByPropertyValue(final String indexName, final String property, final Object value, final int offset, final int limit) {
+        return query(indexName, new Query<S>() {
+            public IndexHits<S> query(Index<S> index) {
+                return getIndexHits(indexName, property, value);
+            }
+        }, offset, limit);
+    }
+
     interface Query<S extends PropertyContainer> {
         IndexHits<S> query(Index<S> index);
     }
     private Iterable<T> query(String indexName, Query<S> query) {
+        return query(indexName, query, 0, -1);
+    }
+
+    private Iterable<T> query(String indexName, Query<S> query, int offset, int limit) {
         try {
             final IndexHits<S> indexHits = query.query(getIndex(indexName));
             if (indexHits == null) return Collections.emptyList();
-            return new IterableWrapper<T, S>(indexHits) {
-                protected T underlyingObjectToObject(final S result) {
-                    return createEntity(result);
-                }
-            };
+            if (offset == 0 && limit < 0) return createEntities(indexHits);
+            return createEntities(SlicedIterable.slice(indexHits, offset, limit));
         } catch (NotFoundException e) {
             return null;
         }
     }
+
+    private Iterable<T> createEntities(Iterable<S> states) {
+        return new IterableWrapper<T, S>(states) {
+            protected T underlyingObjectToObject(final S result) {
+                return createEntity(result);
+            }
+        };
+    }
+
     @Override
     public Iterable<T> findAllByRange(final String indexName, final String property, final Number from, final Number to) {
+        return findAllByRange(indexName, property, from, to, 0, -1);
+    }
+
+    @Override
+    public Iterable<T> findAllByRange(final String indexName, final String property, final Number from, final Number to, final int offset, final int limit) {
         return query(indexName, new Query<S>() {
             public IndexHits<S> query(Index<S> index) {
                 return index.query(property, createRangeQuery(property, from, to));
             }
-        });
+        }, offset, limit);
+    }
+
+    /**
+     * Sorted range query, the sort is done by the index.
+     *
+     * @param sort lucene sort, e.g. <code>new Sort(new SortField(property, SortField.INT, true))</code>, or null for index order
+     * @param limit maximum number of results, negative for all
+     * @return Iterable over the first limit Entities in sort order
+     */
+    @Override
+    public Iterable<T> findAllByRange(final String indexName, final String property, final Number from, final Number to, final Sort sort, final int limit) {
+        return query(indexName, new Query<S>() {
+            public IndexHits<S> query(Index<S> index) {
+                return index.query(property, sorted(createRangeQuery(property, from, to), sort));
+            }
+        }, 0, limit);
+    }
+
+    /**
+     * Sorted index query, the sort is done by the index.
+     *
+     * @param query lucene query string or {@link org.apache.lucene.search.Query}
+     * @param sort lucene sort or null for index order, {@link Sort#RELEVANCE} sorts by score
+     * @param limit maximum number of results, negative for all
+     * @return Iterable over the first limit Entities in sort order
+     */
+    @Override
+    public Iterable<T> findAllByQuery(final String indexName, final String property, final Object query, final Sort sort, final int limit) {
+        return query(indexName, new Query<S>() {
+            public IndexHits<S> query(Index<S> index) {
+                return index.query(property, sorted(query, sort));
+            }
+        }, 0, limit);
+    }
+
+    private Object sorted(Object query, Sort sort) {
+        if (sort == null) return query;
+        return new QueryContext(query).sort(sort);
     }
 
     protected <T extends Number> NumericRangeQuery<T> createRangeQuery(String property, Number from, Number to) {
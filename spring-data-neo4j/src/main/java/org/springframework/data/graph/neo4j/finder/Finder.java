@@ -1,10 +1,13 @@
 package org.springframework.data.graph.neo4j.finder;
 
+import org.apache.lucene.search.Sort;
 import org.neo4j.graphdb.PropertyContainer;
 import org.neo4j.graphdb.traversal.TraversalDescription;
 import org.springframework.data.graph.core.GraphBacked;
 import org.springframework.data.graph.core.NodeBacked;
 
+import java.util.List;
+
 /**
  * @author mh
  * @since 12.01.11
@@ -14,13 +17,32 @@ public interface Finder<S extends PropertyContainer,T extends GraphBacked<S>> {
 
     Iterable<T> findAll();
 
+    Iterable<T> findAll(int offset, int limit);
+
+    Iterable<T> findAllAfter(long id, int limit);
+
     T findById(long id);
 
+    List<T> findAllById(long... ids);
+
     T findByPropertyValue(String indexName, String property, Object value);
 
     Iterable<T> findAllByPropertyValue(String indexName, String property, Object value);
+
+    Iterable<T> findAllByPropertyValue(String indexName, String property, Object value, int offset, int limit);
+
     Iterable<T> findAllByRange(final String indexName, final String property, final Number from, final Number to);
 
+    Iterable<T> findAllByRange(String indexName, String property, Number from, Number to, int offset, int limit);
+
+    Iterable<T> findAllByRange(String indexName, String property, Number from, Number to, Sort sort, int limit);
+
+    Iterable<T> findAllByQuery(String indexName, String property, Object query, Sort sort, int limit);
+
+    <P> Iterable<P> findAllProjected(Class<P> projectionType);
+
+    <P> Iterable<P> findAllByPropertyValueProjected(String indexName, String property, Object value, Class<P> projectionType);
+
     /**
      * Traversal based finder that returns a lazy Iterable over the traversal results
      *
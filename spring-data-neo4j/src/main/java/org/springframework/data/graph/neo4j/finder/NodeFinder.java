@@ -23,6 +23,12 @@ import org.springframework.data.graph.core.GraphBacked;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.neo4j.support.GraphDatabaseContext;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 public class NodeFinder<T extends GraphBacked<Node>> extends AbstractFinder<Node, T> {
 
     public NodeFinder(final Class<T> clazz, final GraphDatabaseContext graphDatabaseContext) {
@@ -34,9 +40,53 @@ public class NodeFinder<T extends GraphBacked<Node>> extends AbstractFinder<Node
         return graphDatabaseContext.getNodeById(id);
     }
 
+    /**
+     * groups the nodes by their stored java type, each type is checked against the finder type and passed to the
+     * instantiator once per class instead of once per node. If the finder type has no stored subtypes, it is used for
+     * all nodes without resolving their types.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected List<T> createAllEntities(final List<Node> nodes) {
+        if (nodes.isEmpty()) return new ArrayList<T>();
+        if (!graphDatabaseContext.hasSubtypes((Class<? extends NodeBacked>) clazz)) {
+            final List<T> result = new ArrayList<T>(nodes.size());
+            for (Node node : nodes) {
+                result.add((T) graphDatabaseContext.getGraphEntityInstantiator().createEntityFromState(node, (Class<NodeBacked>) clazz));
+            }
+            return result;
+        }
+        final Map<Class<NodeBacked>, List<Integer>> positionsByType = new LinkedHashMap<Class<NodeBacked>, List<Integer>>();
+        for (int i = 0; i < nodes.size(); i++) {
+            final Class<NodeBacked> type = graphDatabaseContext.getJavaType(nodes.get(i));
+            List<Integer> positions = positionsByType.get(type);
+            if (positions == null) {
+                positions = new ArrayList<Integer>();
+                positionsByType.put(type, positions);
+            }
+            positions.add(i);
+        }
+        final Object[] entities = new Object[nodes.size()];
+        for (Map.Entry<Class<NodeBacked>, List<Integer>> entry : positionsByType.entrySet()) {
+            final Class<NodeBacked> type = entry.getKey();
+            if (!clazz.isAssignableFrom(type)) {
+                throw new IllegalArgumentException(String.format("%s does not correspond to the node type %s of node %s", clazz, type, nodes.get(entry.getValue().get(0))));
+            }
+            for (Integer position : entry.getValue()) {
+                entities[position] = graphDatabaseContext.getGraphEntityInstantiator().createEntityFromState(nodes.get(position), type);
+            }
+        }
+        return new ArrayList<T>((List<T>) (List) Arrays.asList(entities));
+    }
+
+    @Override
+    protected Iterable<Node> findAllStates() {
+        return graphDatabaseContext.findAllNodes(clazz);
+    }
+
     @Override
     protected Index<Node> getIndex(String indexName) {
-        return graphDatabaseContext.getNodeIndex(indexName);
+        return graphDatabaseContext.getNodeIndexForQuery(indexName);
     }
 
     @Override
@@ -0,0 +1,88 @@
+package org.springframework.data.graph.neo4j.finder;
+
+import org.neo4j.graphdb.PropertyContainer;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.data.graph.neo4j.fieldaccess.GraphEntityMetadata;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Read only view of the properties of a node or relationship through a projection interface. The getters of the
+ * interface are mapped to the properties of the equally named fields of the entity type, the values are read directly
+ * from the underlying state without creating an entity.
+ */
+class PropertyProjection<P> {
+    private final Class<P> projectionType;
+    private final ConversionService conversionService;
+    private final Map<Method, String> propertyNames;
+
+    PropertyProjection(final Class<?> entityType, final Class<P> projectionType, final ConversionService conversionService) {
+        if (!projectionType.isInterface()) throw new IllegalArgumentException("Projection type must be an interface: " + projectionType);
+        this.projectionType = projectionType;
+        this.conversionService = conversionService;
+        this.propertyNames = createPropertyNames(entityType, projectionType);
+    }
+
+    private static Map<Method, String> createPropertyNames(final Class<?> entityType, final Class<?> projectionType) {
+        final Map<Method, String> result = new HashMap<Method, String>();
+        for (final Method method : projectionType.getMethods()) {
+            final String fieldName = fieldName(method);
+            final Field field = fieldName == null ? null : ReflectionUtils.findField(entityType, fieldName);
+            if (field == null) throw new IllegalArgumentException("No field for projection method " + method + " in " + entityType);
+            result.put(method, GraphEntityMetadata.forType(field.getDeclaringClass()).getPropertyName(field));
+        }
+        return result;
+    }
+
+    private static String fieldName(final Method method) {
+        if (method.getParameterTypes().length > 0) return null;
+        final String name = method.getName();
+        final int prefix = name.startsWith("get") ? 3 : name.startsWith("is") ? 2 : 0;
+        if (prefix == 0 || name.length() == prefix) return null;
+        return Character.toLowerCase(name.charAt(prefix)) + name.substring(prefix + 1);
+    }
+
+    P project(final PropertyContainer state) {
+        return projectionType.cast(Proxy.newProxyInstance(projectionType.getClassLoader(), new Class[]{projectionType}, new InvocationHandler() {
+            @Override
+            public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+                final String propertyName = propertyNames.get(method);
+                if (propertyName != null) return convert(state.getProperty(propertyName, null), method.getReturnType());
+                if (method.getName().equals("equals")) return args[0] == proxy;
+                if (method.getName().equals("hashCode")) return state.hashCode();
+                if (method.getName().equals("toString")) return projectionType.getSimpleName() + " of " + state;
+                throw new UnsupportedOperationException("Projection method not supported " + method);
+            }
+        }));
+    }
+
+    private Object convert(final Object value, final Class<?> type) {
+        if (value == null) {
+            return type.isPrimitive() ? defaultValue(type) : null;
+        }
+        final Class<?> targetType = ClassUtils.resolvePrimitiveIfNecessary(type);
+        if (targetType.isInstance(value)) return value;
+        if (conversionService != null && conversionService.canConvert(value.getClass(), targetType)) {
+            return conversionService.convert(value, targetType);
+        }
+        return value;
+    }
+
+    private static Object defaultValue(final Class<?> type) {
+        if (type.equals(boolean.class)) return false;
+        if (type.equals(char.class)) return (char) 0;
+        if (type.equals(byte.class)) return (byte) 0;
+        if (type.equals(short.class)) return (short) 0;
+        if (type.equals(long.class)) return 0L;
+        if (type.equals(float.class)) return 0f;
+        if (type.equals(double.class)) return 0d;
+        return 0;
+    }
+}
@@ -34,9 +34,14 @@ public class RelationshipFinder<T extends RelationshipBacked> extends AbstractFi
         return graphDatabaseContext.getRelationshipById(id);
     }
 
+    @Override
+    protected Iterable<Relationship> findAllStates() {
+        throw new UnsupportedOperationException("No support for relationships");
+    }
+
     @Override
     protected Index<Relationship> getIndex(String indexName) {
-        return graphDatabaseContext.getRelationshipIndex(indexName);
+        return graphDatabaseContext.getRelationshipIndexForQuery(indexName);
     }
 
     @Override
@@ -0,0 +1,97 @@
+package org.springframework.data.graph.neo4j.finder;
+
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.index.IndexHits;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Iterable over a slice of nodes or relationships. The skipped elements are only stepped over, so they are never
+ * converted to entities. Index hits are closed when the slice is exhausted before them.
+ */
+class SlicedIterable<S extends PropertyContainer> implements Iterable<S> {
+    private final Iterable<S> states;
+    private final int offset;
+    private final int limit;
+    private final long afterId;
+
+    /**
+     * @param states underlying nodes or relationships
+     * @param offset number of elements to skip
+     * @param limit maximum number of elements, negative for all
+     * @param afterId id of the element after which the slice starts, negative to start at the beginning. Iterating
+     * fails with an IllegalArgumentException if there is no element with this id.
+     */
+    SlicedIterable(final Iterable<S> states, final int offset, final int limit, final long afterId) {
+        this.states = states;
+        this.offset = offset;
+        this.limit = limit;
+        this.afterId = afterId;
+    }
+
+    static <S extends PropertyContainer> SlicedIterable<S> slice(final Iterable<S> states, final int offset, final int limit) {
+        return new SlicedIterable<S>(states, offset, limit, -1);
+    }
+
+    static <S extends PropertyContainer> SlicedIterable<S> after(final Iterable<S> states, final long afterId, final int limit) {
+        return new SlicedIterable<S>(states, 0, limit, afterId);
+    }
+
+    @Override
+    public Iterator<S> iterator() {
+        final Iterator<S> it = states.iterator();
+        return new Iterator<S>() {
+            private boolean started;
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                if (!started) {
+                    started = true;
+                    skip(it);
+                }
+                if (limit >= 0 && count >= limit) {
+                    close(it);
+                    return false;
+                }
+                return it.hasNext();
+            }
+
+            @Override
+            public S next() {
+                if (!hasNext()) throw new NoSuchElementException();
+                count++;
+                return it.next();
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    private void skip(final Iterator<S> it) {
+        if (afterId >= 0) {
+            while (it.hasNext()) {
+                if (idOf(it.next()) == afterId) return;
+            }
+            throw new IllegalArgumentException("No element with id " + afterId + " to continue after");
+        }
+        for (int i = 0; i < offset && it.hasNext(); i++) {
+            it.next();
+        }
+    }
+
+    private void close(final Iterator<S> it) {
+        if (it instanceof IndexHits) ((IndexHits) it).close();
+    }
+
+    private static long idOf(final PropertyContainer state) {
+        if (state instanceof Node) return ((Node) state).getId();
+        return ((Relationship) state).getId();
+    }
+}
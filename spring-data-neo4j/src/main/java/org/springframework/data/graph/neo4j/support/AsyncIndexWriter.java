@@ -0,0 +1,517 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.graphdb.GraphDatabaseService;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.NotFoundException;
+import org.neo4j.graphdb.PropertyContainer;
+import org.neo4j.graphdb.Relationship;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.kernel.AbstractGraphDatabase;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.transaction.RollbackException;
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
+import javax.transaction.TransactionManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies index additions and removals asynchronously. Operations issued within a transaction are queued just before it
+ * commits, while it still holds its locks, so the operations of transactions changing the same entity are queued in
+ * commit order. They are applied once the transaction committed and dropped on rollback. Outside of a transaction
+ * operations are queued immediately. A single writer thread applies the queued operations in batches, each batch in its
+ * own transaction. If a batch fails its operations are retried one by one, failing operations are skipped and reported
+ * by the next {@link #flush()}. The queue is bounded, producers block while it is full. Operations queued by the same
+ * transaction more than once are merged into its first group, so that a transaction never waits for itself.
+ *
+ * Index lookups don't see operations that are not yet applied, use {@link #flush()} to wait for them. The writer thread
+ * is stopped by {@link #shutdown()}, which is called when the writer is destroyed as a Spring bean.
+ */
+public class AsyncIndexWriter implements DisposableBean {
+    private final static Log log = LogFactory.getLog(AsyncIndexWriter.class);
+
+    public static final int DEFAULT_CAPACITY = 10000;
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final long SHUTDOWN_TIMEOUT = 10000;
+
+    private final GraphDatabaseService graphDatabaseService;
+    private final int batchSize;
+    private final BlockingQueue<Operations> queue;
+    private final ConcurrentMap<Transaction, PendingOperations> pendingOperations = new ConcurrentHashMap<Transaction, PendingOperations>();
+    private final ConcurrentMap<Transaction, Operations> queuedTransactions = new ConcurrentHashMap<Transaction, Operations>();
+    private final ConcurrentMap<String, Index<Node>> nodeIndexes = new ConcurrentHashMap<String, Index<Node>>();
+    private final ConcurrentMap<String, Index<Relationship>> relationshipIndexes = new ConcurrentHashMap<String, Index<Relationship>>();
+    private final Thread writer;
+    private final Object appliedMonitor = new Object();
+    private long queued;
+    private long processed;
+    private long applied;
+    private long failed;
+    private RuntimeException failure;
+    private volatile boolean running = true;
+
+    public AsyncIndexWriter(final GraphDatabaseService graphDatabaseService) {
+        this(graphDatabaseService, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * @param graphDatabaseService database whose indexes are written
+     * @param capacity maximum number of queued transactions (or single operations issued outside of a transaction)
+     * @param batchSize maximum number of operations applied in one transaction, the writer takes at most as many
+     * transactions from the queue while it waits for the first of them to complete
+     */
+    public AsyncIndexWriter(final GraphDatabaseService graphDatabaseService, final int capacity, final int batchSize) {
+        if (capacity < 1) throw new IllegalArgumentException("Capacity must be positive");
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive");
+        this.graphDatabaseService = graphDatabaseService;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<Operations>(capacity);
+        this.writer = new Thread(new Writer(), "async-index-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * @param indexName or null for the default index
+     */
+    public void add(final PropertyContainer state, final String indexName, final String key, final Object value) {
+        submit(new IndexOperation(state, indexName, key, value, true));
+    }
+
+    /**
+     * @param indexName or null for the default index
+     */
+    public void remove(final PropertyContainer state, final String indexName, final String key, final Object value) {
+        submit(new IndexOperation(state, indexName, key, value, false));
+    }
+
+    private void submit(final IndexOperation operation) {
+        checkRunning();
+        final PendingOperations pending = pendingOperationsForTransaction();
+        if (pending != null) {
+            pending.operations.add(operation);
+            return;
+        }
+        final Operations operations = new Operations(null, Status.STATUS_COMMITTED);
+        operations.add(operation);
+        operations.queue();
+    }
+
+    private void checkRunning() {
+        if (!running) throw new IllegalStateException("Index writer is shut down");
+    }
+
+    /**
+     * @param committed true for operations of an already committed transaction or issued outside of a transaction,
+     * false for the operations of a running transaction, which has to report its outcome via {@link Operations#completed(int)}
+     * @return new group of operations, for callers that track the transaction themselves
+     */
+    Operations newOperations(final boolean committed) {
+        checkRunning();
+        if (committed) return new Operations(null, Status.STATUS_COMMITTED);
+        return new Operations(getTransaction(), Status.STATUS_UNKNOWN);
+    }
+
+    private void enqueue(final Operations operations) {
+        if (operations.tx != null) {
+            final Operations first = queuedTransactions.putIfAbsent(operations.tx, operations);
+            if (first != null) {
+                synchronized (appliedMonitor) {
+                    queued += operations.size();
+                }
+                first.merge(operations);
+                return;
+            }
+        }
+        synchronized (appliedMonitor) {
+            queued += operations.size();
+        }
+        try {
+            queue.put(operations);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (operations.tx != null) queuedTransactions.remove(operations.tx, operations);
+            synchronized (appliedMonitor) {
+                queued -= operations.size();
+            }
+            throw new IllegalStateException("Interrupted while queueing index operations", e);
+        }
+    }
+
+    /**
+     * blocks until all operations queued before the call are processed
+     * @throws IllegalStateException with the first failure of an index operation since the last flush
+     */
+    public void flush() {
+        try {
+            awaitIndexed(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for index writer", e);
+        }
+        final RuntimeException error;
+        synchronized (appliedMonitor) {
+            error = failure;
+            failure = null;
+        }
+        if (error != null) throw new IllegalStateException("Failed to apply index operations", error);
+    }
+
+    /**
+     * @return true if all operations queued before the call were processed within the timeout
+     */
+    public boolean awaitIndexed(final long timeout, final TimeUnit unit) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + Math.min(unit.toMillis(timeout), Long.MAX_VALUE / 2);
+        synchronized (appliedMonitor) {
+            final long target = queued;
+            while (processed < target) {
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) return false;
+                appliedMonitor.wait(remaining);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @return number of operations that were committed to the index
+     */
+    public long getAppliedOperations() {
+        synchronized (appliedMonitor) {
+            return applied;
+        }
+    }
+
+    /**
+     * @return number of operations that failed and were skipped
+     */
+    public long getFailedOperations() {
+        synchronized (appliedMonitor) {
+            return failed;
+        }
+    }
+
+    /**
+     * clears the cached index handles, needed when indexes are deleted
+     */
+    public void clearIndexCache() {
+        nodeIndexes.clear();
+        relationshipIndexes.clear();
+    }
+
+    private Index<Node> nodeIndex(final String indexName) {
+        final String indexNameToUse = indexName == null ? GraphDatabaseContext.DEFAULT_NODE_INDEX_NAME : indexName;
+        final Index<Node> index = nodeIndexes.get(indexNameToUse);
+        if (index != null) return index;
+        final Index<Node> created = graphDatabaseService.index().forNodes(indexNameToUse);
+        final Index<Node> existing = nodeIndexes.putIfAbsent(indexNameToUse, created);
+        return existing != null ? existing : created;
+    }
+
+    private Index<Relationship> relationshipIndex(final String indexName) {
+        final String indexNameToUse = indexName == null ? GraphDatabaseContext.DEFAULT_RELATIONSHIP_INDEX_NAME : indexName;
+        final Index<Relationship> index = relationshipIndexes.get(indexNameToUse);
+        if (index != null) return index;
+        final Index<Relationship> created = graphDatabaseService.index().forRelationships(indexNameToUse);
+        final Index<Relationship> existing = relationshipIndexes.putIfAbsent(indexNameToUse, created);
+        return existing != null ? existing : created;
+    }
+
+    /**
+     * applies the queued operations and stops the writer thread, later calls do nothing
+     */
+    public void shutdown() {
+        synchronized (this) {
+            if (!running) return;
+            try {
+                flush();
+            } finally {
+                running = false;
+                writer.interrupt();
+            }
+        }
+        try {
+            writer.join(SHUTDOWN_TIMEOUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) log.warn("Index writer did not stop within " + SHUTDOWN_TIMEOUT + " ms");
+    }
+
+    @Override
+    public void destroy() {
+        shutdown();
+    }
+
+    private PendingOperations pendingOperationsForTransaction() {
+        final Transaction tx = getTransaction();
+        if (tx == null) return null;
+        PendingOperations pending = pendingOperations.get(tx);
+        if (pending != null) return pending;
+        pending = new PendingOperations(tx);
+        try {
+            tx.registerSynchronization(pending);
+        } catch (RollbackException e) {
+            return null;
+        } catch (SystemException e) {
+            throw new IllegalStateException("Error registering index writer synchronization", e);
+        }
+        pendingOperations.put(tx, pending);
+        return pending;
+    }
+
+    private Transaction getTransaction() {
+        try {
+            final TransactionManager txManager = ((AbstractGraphDatabase) graphDatabaseService).getConfig().getTxModule().getTxManager();
+            if (txManager.getStatus() == Status.STATUS_NO_TRANSACTION) return null;
+            return txManager.getTransaction();
+        } catch (SystemException e) {
+            log.error("Error accessing TransactionManager", e);
+            return null;
+        }
+    }
+
+    /**
+     * applies the batch in one transaction, if that fails each operation is applied in its own transaction
+     */
+    private void applyBatch(final List<IndexOperation> batch) {
+        int committed;
+        try {
+            committed = applyInTransaction(batch);
+        } catch (RuntimeException e) {
+            if (batch.size() == 1) {
+                failed(batch.get(0), e);
+                return;
+            }
+            log.warn("Error applying " + batch.size() + " index operations, retrying them one by one", e);
+            committed = 0;
+            for (IndexOperation operation : batch) {
+                try {
+                    committed += applyInTransaction(Collections.singletonList(operation));
+                } catch (RuntimeException operationFailure) {
+                    failed(operation, operationFailure);
+                }
+            }
+        }
+        synchronized (appliedMonitor) {
+            applied += committed;
+        }
+    }
+
+    /**
+     * @return number of applied operations, operations of deleted nodes or relationships are skipped
+     */
+    private int applyInTransaction(final List<IndexOperation> operations) {
+        int count = 0;
+        final org.neo4j.graphdb.Transaction tx = graphDatabaseService.beginTx();
+        try {
+            for (IndexOperation operation : operations) {
+                try {
+                    operation.apply();
+                    count++;
+                } catch (NotFoundException e) {
+                    if (log.isDebugEnabled()) log.debug("Skipped index operation of deleted " + operation.state);
+                }
+            }
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        return count;
+    }
+
+    private void failed(final IndexOperation operation, final RuntimeException e) {
+        log.error("Error applying index operation for " + operation.state + " " + operation.key + "=" + operation.value, e);
+        synchronized (appliedMonitor) {
+            failed++;
+            if (failure == null) failure = e;
+        }
+    }
+
+    /**
+     * Takes the queued groups in order. A group of a transaction that has not completed yet blocks the following ones,
+     * meanwhile at most batchSize groups are taken from the queue, so that producers block while the writer is behind.
+     */
+    private class Writer implements Runnable {
+        private final LinkedList<Operations> taken = new LinkedList<Operations>();
+
+        @Override
+        public void run() {
+            final List<IndexOperation> batch = new ArrayList<IndexOperation>(batchSize);
+            while (running || !queue.isEmpty() || !taken.isEmpty()) {
+                int completed = 0;
+                try {
+                    if (taken.isEmpty()) {
+                        final Operations first = queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (first == null) continue;
+                        taken.add(first);
+                    }
+                    if (taken.size() < batchSize) queue.drainTo(taken, batchSize - taken.size());
+                    while (!taken.isEmpty() && batch.size() < batchSize) {
+                        final Operations operations = taken.getFirst();
+                        if (!operations.awaitCompletion(10)) break;
+                        taken.removeFirst();
+                        completed += operations.size();
+                        if (operations.isCommitted()) batch.addAll(operations.operations);
+                    }
+                    if (!batch.isEmpty()) applyBatch(batch);
+                } catch (InterruptedException e) {
+                    if (running) log.warn("Index writer interrupted");
+                } finally {
+                    batch.clear();
+                    if (completed > 0) {
+                        synchronized (appliedMonitor) {
+                            processed += completed;
+                            appliedMonitor.notifyAll();
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Index operations of a single transaction, applied in order once the transaction committed.
+     */
+    class Operations {
+        private final Transaction tx;
+        private final List<IndexOperation> operations = new ArrayList<IndexOperation>();
+        private int status;
+
+        Operations(final Transaction tx, final int status) {
+            this.tx = tx;
+            this.status = status;
+        }
+
+        void add(final PropertyContainer state, final String indexName, final String key, final Object value, final boolean add) {
+            add(new IndexOperation(state, indexName, key, value, add));
+        }
+
+        private synchronized void add(final IndexOperation operation) {
+            operations.add(operation);
+        }
+
+        /**
+         * appends the operations of a later group of the same transaction, which has not completed yet
+         */
+        private synchronized void merge(final Operations other) {
+            operations.addAll(other.operations);
+        }
+
+        synchronized int size() {
+            return operations.size();
+        }
+
+        /**
+         * queues the operations, a running transaction calls this before it completes, while it still holds its locks
+         */
+        void queue() {
+            if (!operations.isEmpty()) enqueue(this);
+        }
+
+        /**
+         * @param status final status of the transaction, the operations are applied if it is {@link Status#STATUS_COMMITTED}
+         */
+        synchronized void completed(final int status) {
+            if (tx != null) queuedTransactions.remove(tx, this);
+            this.status = status;
+            notifyAll();
+        }
+
+        synchronized boolean awaitCompletion(final long timeoutMillis) throws InterruptedException {
+            if (status == Status.STATUS_UNKNOWN) wait(timeoutMillis);
+            return status != Status.STATUS_UNKNOWN;
+        }
+
+        synchronized boolean isCommitted() {
+            return status == Status.STATUS_COMMITTED;
+        }
+    }
+
+    /**
+     * Operations issued during a single transaction, queued before it completes.
+     */
+    private class PendingOperations implements Synchronization {
+        private final Transaction tx;
+        private final Operations operations;
+
+        PendingOperations(final Transaction tx) {
+            this.tx = tx;
+            this.operations = new Operations(tx, Status.STATUS_UNKNOWN);
+        }
+
+        @Override
+        public void beforeCompletion() {
+            operations.queue();
+        }
+
+        @Override
+        public void afterCompletion(final int status) {
+            pendingOperations.remove(tx);
+            operations.completed(status);
+        }
+    }
+
+    private class IndexOperation {
+        private final PropertyContainer state;
+        private final String indexName;
+        private final String key;
+        private final Object value;
+        private final boolean add;
+
+        IndexOperation(final PropertyContainer state, final String indexName, final String key, final Object value, final boolean add) {
+            this.state = state;
+            this.indexName = indexName;
+            this.key = key;
+            this.value = value;
+            this.add = add;
+        }
+
+        @SuppressWarnings("unchecked")
+        void apply() {
+            final Index<PropertyContainer> index;
+            if (state instanceof Node) {
+                final Node node = graphDatabaseService.getNodeById(((Node) state).getId());
+                index = (Index<PropertyContainer>) (Index) nodeIndex(indexName);
+                apply(index, node);
+            } else {
+                final Relationship relationship = graphDatabaseService.getRelationshipById(((Relationship) state).getId());
+                index = (Index<PropertyContainer>) (Index) relationshipIndex(indexName);
+                apply(index, relationship);
+            }
+        }
+
+        private void apply(final Index<PropertyContainer> index, final PropertyContainer current) {
+            if (add) index.add(current, key, value);
+            else index.remove(current, key, value);
+        }
+    }
+}
@@ -19,17 +19,35 @@ package org.springframework.data.graph.neo4j.support;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.graphdb.*;
+import org.neo4j.graphdb.event.TransactionData;
+import org.neo4j.graphdb.event.TransactionEventHandler;
 import org.neo4j.graphdb.index.Index;
 import org.neo4j.graphdb.index.IndexManager;
+import org.neo4j.index.impl.lucene.ValueContext;
 import org.neo4j.kernel.AbstractGraphDatabase;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.data.graph.core.GraphBacked;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.core.NodeTypeStrategy;
 import org.springframework.data.graph.core.RelationshipBacked;
+import org.springframework.data.graph.neo4j.fieldaccess.GraphEntityMetadata;
 import org.springframework.persistence.support.EntityInstantiator;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.transaction.RollbackException;
 import javax.transaction.Status;
+import javax.transaction.Synchronization;
 import javax.transaction.SystemException;
 import javax.transaction.TransactionManager;
 import javax.validation.Validator;
@@ -44,10 +62,11 @@ import javax.validation.Validator;
  * @author Michael Hunger
  * @since 13.09.2010
  */
-public class GraphDatabaseContext {
+public class GraphDatabaseContext implements DisposableBean {
 
     public static final String DEFAULT_NODE_INDEX_NAME = "node";
     public static final String DEFAULT_RELATIONSHIP_INDEX_NAME = "relationship";
+    public static final int DEFAULT_REMOVAL_CHUNK_SIZE = 10000;
 
     private GraphDatabaseService graphDatabaseService;
 
@@ -61,6 +80,15 @@ public class GraphDatabaseContext {
 
     private Validator validator;
 
+    private AsyncIndexWriter asyncIndexWriter;
+
+    private final DeletedStatesHandler deletedStatesHandler = new DeletedStatesHandler();
+
+    private final ConcurrentMap<String, Index<Node>> nodeIndexes = new ConcurrentHashMap<String, Index<Node>>();
+    private final ConcurrentMap<String, Index<Relationship>> relationshipIndexes = new ConcurrentHashMap<String, Index<Relationship>>();
+
+    private final ConcurrentMap<javax.transaction.Transaction, IndexUpdates> pendingIndexUpdates = new ConcurrentHashMap<javax.transaction.Transaction, IndexUpdates>();
+
     private final static Log log = LogFactory.getLog(GraphDatabaseContext.class);
 
     public GraphDatabaseService getGraphDatabaseService() {
@@ -68,7 +96,9 @@ public class GraphDatabaseContext {
 	}
 
 	public void setGraphDatabaseService(GraphDatabaseService graphDatabaseService) {
+		if (this.graphDatabaseService != null) this.graphDatabaseService.unregisterTransactionEventHandler(deletedStatesHandler);
 		this.graphDatabaseService = graphDatabaseService;
+		if (graphDatabaseService != null) graphDatabaseService.registerTransactionEventHandler(deletedStatesHandler);
 	}
 
 	public EntityInstantiator<NodeBacked, Node> getGraphEntityInstantiator() {
@@ -110,60 +140,217 @@ public class GraphDatabaseContext {
     }
 
     /**
-     * @param relationship to remove from indexes and to delete
+     * removes the entity by cleaning the relationships first and then removing the node
+     * it removes all of them from all indexes in advance
+     * the entity and relationship are still accessible after removal but before transaction commit
+     * but all modifications will throw an exception
+     * @param entity to remove
      */
-    private void removeRelationship(Relationship relationship) {
-        removeFromIndexes(relationship);
+    public void removeNodeEntity(NodeBacked entity) {
+        Node node = entity.getUnderlyingState();
+        if (node==null) return;
+        flushIndexUpdates();
+        this.nodeTypeStrategy.preEntityRemoval(entity);
+        removeNode(entity, new IndexHandles());
+    }
+
+    public void removeRelationshipEntity(RelationshipBacked entity) {
+        Relationship relationship = entity.getUnderlyingState();
+        if (relationship==null) return;
+        flushIndexUpdates();
+        new IndexHandles().removeFromIndexes(relationship, entity.getClass());
         relationship.delete();
     }
 
     /**
-     * @param relationship to be removed from all indexes, all properties are removed from all indexes
-     * TODO remove only indexed properties
+     * removes the entities in chunks of {@link #DEFAULT_REMOVAL_CHUNK_SIZE}
+     * @see #removeNodeEntities(Iterable, int)
      */
-    private void removeFromIndexes(Relationship relationship) {
-        for (String indexName : getIndexManager().relationshipIndexNames()) {
-            Index<Relationship> index = getRelationshipIndex(indexName);
-            for (String property : relationship.getPropertyKeys()) {
-                index.remove(relationship, property, relationship.getProperty(property));
-            }
+    public long removeNodeEntities(Iterable<? extends NodeBacked> entities) {
+        return removeNodeEntities(entities, DEFAULT_REMOVAL_CHUNK_SIZE);
+    }
+
+    /**
+     * removes the entities like {@link #removeNodeEntity(NodeBacked)}, the entities are read and removed chunk by chunk,
+     * each chunk in its own transaction. The type nodes are updated once per chunk and the relationship indexes are listed
+     * once per chunk. If a transaction is already running, all chunks take part in it.
+     * A collection is read with a single iterator. Other sources, like finder results, are read again for each chunk,
+     * so that no lazy iterator is used across the removal of a chunk, removed nodes fall out of their results. A source
+     * that still returns removed entities is read further with that iterator, after skipping the removed ones.
+     * @param entities to remove, e.g. a finder result
+     * @param chunkSize number of entities removed per transaction
+     * @return number of removed entities
+     */
+    public long removeNodeEntities(Iterable<? extends NodeBacked> entities, int chunkSize) {
+        if (chunkSize < 1) throw new IllegalArgumentException("Chunk size must be positive");
+        boolean stableSource = entities instanceof Collection;
+        final List<NodeBacked> chunk = new ArrayList<NodeBacked>(chunkSize);
+        Iterator<? extends NodeBacked> it = entities.iterator();
+        long removed = 0;
+        while (true) {
+            readChunk(it, chunk, chunkSize);
+            if (chunk.isEmpty()) return removed;
+            removeChunk(chunk);
+            removed += chunk.size();
+            chunk.clear();
+            if (stableSource) continue;
+            it = entities.iterator();
+            readChunk(it, chunk, chunkSize);
+            if (chunk.isEmpty() || !isRemoved(chunk.get(0).getUnderlyingState())) continue;
+            stableSource = true;
+            skipRemoved(it, chunk, removed);
         }
     }
 
     /**
-     * removes the entity by cleaning the relationships first and then removing the node
-     * it removes all of them from all indexes in advance
-     * the entity and relationship are still accessible after removal but before transaction commit
-     * but all modifications will throw an exception
-     * @param entity to remove
+     * adds the next entities that have a node to the chunk, up to the chunk size
      */
-    public void removeNodeEntity(NodeBacked entity) {
-        Node node = entity.getUnderlyingState();
-        if (node==null) return;
-        this.nodeTypeStrategy.preEntityRemoval(entity);
+    private void readChunk(Iterator<? extends NodeBacked> it, List<NodeBacked> chunk, int chunkSize) {
+        while (chunk.size() < chunkSize && it.hasNext()) {
+            final NodeBacked entity = it.next();
+            if (entity.getUnderlyingState() != null) chunk.add(entity);
+        }
+    }
+
+    /**
+     * drops the already removed entities, which a source that returns them again returns first, from the chunk and the iterator
+     */
+    private void skipRemoved(Iterator<? extends NodeBacked> it, List<NodeBacked> chunk, long removed) {
+        final int removedInChunk = (int) Math.min(removed, chunk.size());
+        chunk.subList(0, removedInChunk).clear();
+        long toSkip = removed - removedInChunk;
+        while (toSkip > 0 && it.hasNext()) {
+            if (it.next().getUnderlyingState() != null) toSkip--;
+        }
+    }
+
+    private boolean isRemoved(Node node) {
+        try {
+            graphDatabaseService.getNodeById(node.getId());
+            return false;
+        } catch (NotFoundException e) {
+            return true;
+        }
+    }
+
+    private void removeChunk(List<NodeBacked> chunk) {
+        if (chunk.isEmpty()) return;
+        final Transaction tx = beginTx();
+        try {
+            flushIndexUpdates();
+            nodeTypeStrategy.preEntitiesRemoval(chunk);
+            final IndexHandles indexHandles = new IndexHandles();
+            for (NodeBacked entity : chunk) {
+                removeNode(entity, indexHandles);
+            }
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        if (log.isDebugEnabled()) log.debug("removed chunk of " + chunk.size() + " entities");
+    }
+
+    private void removeNode(NodeBacked entity, IndexHandles indexHandles) {
+        final Node node = entity.getUnderlyingState();
         for (Relationship relationship : node.getRelationships()) {
-            removeRelationship(relationship);
+            final Class<? extends RelationshipBacked> relationshipEntityType = relationshipEntityType(entity.getClass(), relationship);
+            if (relationshipEntityType != null) indexHandles.removeFromIndexes(relationship, relationshipEntityType);
+            else indexHandles.removeFromAllIndexes(relationship);
+            relationship.delete();
         }
-        removeFromIndexes(node);
+        indexHandles.removeFromIndexes(node, entity.getClass());
         node.delete();
     }
-    public void removeRelationshipEntity(RelationshipBacked entity) {
-        Relationship relationship = entity.getUnderlyingState();
-        if (relationship==null) return;
-        removeRelationship(relationship);
+
+    /**
+     * @return the relationship entity class declared for the type of the relationship by a {@link org.springframework.data.graph.annotation.RelatedToVia}
+     * field of the node entity type or its superclasses, null if there is none
+     */
+    private Class<? extends RelationshipBacked> relationshipEntityType(Class<?> nodeEntityType, Relationship relationship) {
+        final String relationshipType = relationship.getType().name();
+        for (Class<?> clazz = nodeEntityType; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+            final Class<? extends RelationshipBacked> relationshipEntityType = GraphEntityMetadata.forType(clazz).getRelationshipEntityType(relationshipType);
+            if (relationshipEntityType != null) return relationshipEntityType;
+        }
+        return null;
     }
 
     /**
-     * @param node to be removed from all indexes, all properties of the node are removed from all indexes
-     * TODO remove only indexed properties
+     * Index handles for a removal, indexes are resolved without flushing the pending index updates.
      */
-    private void removeFromIndexes(Node node) {
-        for (String property : node.getPropertyKeys()) {
-            for (String indexName : getIndexManager().nodeIndexNames()) {
-                Index<Node> index = getNodeIndex(indexName);
-                index.remove(node,property,node.getProperty(property));
+    private class IndexHandles {
+        private List<Index<PropertyContainer>> allNodeIndexes;
+        private List<Index<PropertyContainer>> allRelationshipIndexes;
+
+        /**
+         * removes the indexed properties of the entity type and its superclasses from the indexes they were added to.
+         * Properties that don't belong to a field of the entity type (e.g. indexed through the {@link org.springframework.data.graph.neo4j.template.Neo4jTemplate}
+         * or the foreign id of partial entities) are removed from all indexes. Index entries whose key is a non indexed
+         * field or no property of the state at all are not removed.
+         * @param state node or relationship
+         * @param type entity type of the state
+         */
+        @SuppressWarnings("unchecked")
+        void removeFromIndexes(PropertyContainer state, Class<?> type) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                for (Map.Entry<String, String> entry : GraphEntityMetadata.forType(clazz).getIndexedProperties().entrySet()) {
+                    final String property = entry.getKey();
+                    if (!state.hasProperty(property)) continue;
+                    final Index<PropertyContainer> index = (Index<PropertyContainer>) (state instanceof Node ? lookupNodeIndex(entry.getValue()) : lookupRelationshipIndex(entry.getValue()));
+                    index.remove(state, property, indexValue(state.getProperty(property)));
+                }
+            }
+            for (String property : state.getPropertyKeys()) {
+                if (!isMappedProperty(type, property)) removeFromAllIndexes(state, property);
+            }
+        }
+
+        /**
+         * removes all properties of the relationship from all relationship indexes, used when the entity type of the
+         * relationship is unknown
+         */
+        void removeFromAllIndexes(Relationship relationship) {
+            for (String property : relationship.getPropertyKeys()) {
+                removeFromAllIndexes(relationship, property);
             }
         }
+
+        private void removeFromAllIndexes(PropertyContainer state, String property) {
+            final Object value = state.getProperty(property);
+            for (Index<PropertyContainer> index : allIndexes(state)) {
+                index.remove(state, property, value);
+            }
+        }
+
+        private boolean isMappedProperty(Class<?> type, String property) {
+            for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+                if (GraphEntityMetadata.forType(clazz).isMappedProperty(property)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * the index names are listed once per removal
+         */
+        @SuppressWarnings("unchecked")
+        private List<Index<PropertyContainer>> allIndexes(PropertyContainer state) {
+            if (state instanceof Node) {
+                if (allNodeIndexes == null) {
+                    allNodeIndexes = new ArrayList<Index<PropertyContainer>>();
+                    for (String indexName : getIndexManager().nodeIndexNames()) {
+                        allNodeIndexes.add((Index<PropertyContainer>) (Index) lookupNodeIndex(indexName));
+                    }
+                }
+                return allNodeIndexes;
+            }
+            if (allRelationshipIndexes == null) {
+                allRelationshipIndexes = new ArrayList<Index<PropertyContainer>>();
+                for (String indexName : getIndexManager().relationshipIndexNames()) {
+                    allRelationshipIndexes.add((Index<PropertyContainer>) (Index) lookupRelationshipIndex(indexName));
+                }
+            }
+            return allRelationshipIndexes;
+        }
     }
 
     /**
@@ -185,23 +372,288 @@ public class GraphDatabaseContext {
     }
 
     /**
+     * the pending index updates of the running transaction are not written, use {@link #getNodeIndexForQuery(String)}
+     * for lookups that have to see them
      * @param indexName or null, "node" is assumed if null
      * @return node index {@link Index}
      */
     public Index<Node> getNodeIndex(final String indexName) {
+        return lookupNodeIndex(indexName);
+    }
+
+    /**
+     * pending index updates of the running transaction are written first, so that queries see them (not with
+     * an {@link AsyncIndexWriter}, whose updates become visible after commit)
+     * @param indexName or null, "node" is assumed if null
+     * @return node index {@link Index}
+     */
+    public Index<Node> getNodeIndexForQuery(final String indexName) {
+        flushIndexUpdates();
+        return lookupNodeIndex(indexName);
+    }
+
+    private Index<Node> lookupNodeIndex(final String indexName) {
         String indexNameToUse = indexName == null ? DEFAULT_NODE_INDEX_NAME : indexName;
+        Index<Node> index = nodeIndexes.get(indexNameToUse);
+        if (index != null) return index;
         // checkValidIndex(indexNameToUse); // check invalid index names
-        return getIndexManager().forNodes(indexNameToUse);
+        index = getIndexManager().forNodes(indexNameToUse);
+        final Index<Node> existing = nodeIndexes.putIfAbsent(indexNameToUse, index);
+        return existing != null ? existing : index;
     }
 
     /**
+     * the pending index updates of the running transaction are not written, use {@link #getRelationshipIndexForQuery(String)}
+     * for lookups that have to see them
      * @param indexName or null, "relationship" is assumed if null
      * @return relationship index {@link Index}
      */
     public Index<Relationship> getRelationshipIndex(final String indexName) {
+        return lookupRelationshipIndex(indexName);
+    }
+
+    /**
+     * pending index updates of the running transaction are written first, so that queries see them (not with
+     * an {@link AsyncIndexWriter}, whose updates become visible after commit)
+     * @param indexName or null, "relationship" is assumed if null
+     * @return relationship index {@link Index}
+     */
+    public Index<Relationship> getRelationshipIndexForQuery(final String indexName) {
+        flushIndexUpdates();
+        return lookupRelationshipIndex(indexName);
+    }
+
+    private Index<Relationship> lookupRelationshipIndex(final String indexName) {
         String indexNameToUse = indexName == null ? DEFAULT_RELATIONSHIP_INDEX_NAME : indexName;
+        Index<Relationship> index = relationshipIndexes.get(indexNameToUse);
+        if (index != null) return index;
         // checkValidIndex(indexNameToUse); // check invalid index names
-        return getIndexManager().forRelationships(indexNameToUse);
+        index = getIndexManager().forRelationships(indexNameToUse);
+        final Index<Relationship> existing = relationshipIndexes.putIfAbsent(indexNameToUse, index);
+        return existing != null ? existing : index;
+    }
+
+    /**
+     * deletes the node index and removes it from the cached index handles, including those of the {@link AsyncIndexWriter}
+     */
+    public void deleteNodeIndex(final String indexName) {
+        lookupNodeIndex(indexName).delete();
+        nodeIndexes.remove(indexName == null ? DEFAULT_NODE_INDEX_NAME : indexName);
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
+    /**
+     * deletes the relationship index and removes it from the cached index handles, including those of the {@link AsyncIndexWriter}
+     */
+    public void deleteRelationshipIndex(final String indexName) {
+        lookupRelationshipIndex(indexName).delete();
+        relationshipIndexes.remove(indexName == null ? DEFAULT_RELATIONSHIP_INDEX_NAME : indexName);
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
+    /**
+     * clears the cached index handles, needed when indexes are deleted directly through the {@link IndexManager}
+     */
+    public void clearIndexCache() {
+        nodeIndexes.clear();
+        relationshipIndexes.clear();
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
+    /**
+     * records the change of an indexed property, within a transaction the changes are collected per state and key
+     * (last value wins) and written once before the transaction commits, otherwise the index is updated immediately
+     * @param indexName or null for the default index
+     * @param state node or relationship whose property changed
+     * @param key index key
+     * @param oldValue previous value, removed from the index
+     * @param newValue new value, null removes the entry
+     */
+    public void updateIndex(final String indexName, final PropertyContainer state, final String key, final Object oldValue, final Object newValue) {
+        final IndexUpdates indexUpdates = indexUpdatesForTransaction(true);
+        if (indexUpdates != null) {
+            indexUpdates.add(new IndexUpdate(indexName, state, key, oldValue, newValue));
+        } else if (asyncIndexWriter != null) {
+            final AsyncIndexWriter.Operations operations = asyncIndexWriter.newOperations(true);
+            addIndexOperations(new IndexUpdate(indexName, state, key, oldValue, newValue), operations);
+            operations.queue();
+        } else {
+            applyIndexUpdate(new IndexUpdate(indexName, state, key, oldValue, newValue));
+        }
+    }
+
+    /**
+     * writes the pending index updates of the running transaction
+     */
+    public void flushIndexUpdates() {
+        final IndexUpdates indexUpdates = indexUpdatesForTransaction(false);
+        if (indexUpdates != null) indexUpdates.flush();
+    }
+
+    private IndexUpdates indexUpdatesForTransaction(boolean create) {
+        final javax.transaction.Transaction tx = getTransaction();
+        if (tx == null) return null;
+        IndexUpdates indexUpdates = pendingIndexUpdates.get(tx);
+        if (indexUpdates != null || !create) return indexUpdates;
+        indexUpdates = new IndexUpdates(tx);
+        try {
+            tx.registerSynchronization(indexUpdates);
+        } catch (RollbackException e) {
+            return null;
+        } catch (SystemException e) {
+            throw new IllegalStateException("Error registering index update synchronization", e);
+        }
+        pendingIndexUpdates.put(tx, indexUpdates);
+        return indexUpdates;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void applyIndexUpdate(IndexUpdate update) {
+        final Index<PropertyContainer> index = (Index<PropertyContainer>) (update.state instanceof Node ? lookupNodeIndex(update.indexName) : lookupRelationshipIndex(update.indexName));
+        if (update.oldValue != null && !update.oldValue.equals(update.newValue)) {
+            index.remove(update.state, update.key, indexValue(update.oldValue));
+        }
+        if (update.newValue != null) {
+            index.add(update.state, update.key, indexValue(update.newValue));
+        }
+    }
+
+    private void addIndexOperations(IndexUpdate update, AsyncIndexWriter.Operations operations) {
+        if (update.oldValue != null && !update.oldValue.equals(update.newValue)) {
+            operations.add(update.state, update.indexName, update.key, indexValue(update.oldValue), false);
+        }
+        if (update.newValue != null) {
+            operations.add(update.state, update.indexName, update.key, indexValue(update.newValue), true);
+        }
+    }
+
+    private Object indexValue(Object value) {
+        if (value instanceof Number) return ValueContext.numeric((Number) value);
+        return value;
+    }
+
+    /**
+     * Change of a single index entry, identified by index, state and key.
+     */
+    private static class IndexUpdate {
+        private final String indexName;
+        private final PropertyContainer state;
+        private final String key;
+        private final Object oldValue;
+        private Object newValue;
+
+        IndexUpdate(String indexName, PropertyContainer state, String key, Object oldValue, Object newValue) {
+            this.indexName = indexName;
+            this.state = state;
+            this.key = key;
+            this.oldValue = oldValue;
+            this.newValue = newValue;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof IndexUpdate)) return false;
+            final IndexUpdate other = (IndexUpdate) o;
+            return state.equals(other.state) && key.equals(other.key)
+                    && (indexName == null ? other.indexName == null : indexName.equals(other.indexName));
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * state.hashCode() + key.hashCode()) + (indexName == null ? 0 : indexName.hashCode());
+        }
+    }
+
+    /**
+     * Index updates accumulated during a single transaction, the first old value and the last new value of each entry are kept.
+     * They are applied before commit or, with an {@link AsyncIndexWriter}, queued just before commit and applied after it.
+     */
+    private class IndexUpdates implements Synchronization {
+        private final javax.transaction.Transaction tx;
+        private final Map<IndexUpdate, IndexUpdate> updates = new LinkedHashMap<IndexUpdate, IndexUpdate>();
+        private AsyncIndexWriter.Operations queuedOperations;
+
+        IndexUpdates(javax.transaction.Transaction tx) {
+            this.tx = tx;
+        }
+
+        void add(IndexUpdate update) {
+            final IndexUpdate pending = updates.get(update);
+            if (pending != null) pending.newValue = update.newValue;
+            else updates.put(update, update);
+        }
+
+        /**
+         * drops the updates of nodes and relationships that were deleted in the transaction, they can't be indexed anymore
+         */
+        void dropDeleted(TransactionData data) {
+            if (updates.isEmpty()) return;
+            final Set<Node> deletedNodes = new HashSet<Node>();
+            for (Node node : data.deletedNodes()) deletedNodes.add(node);
+            final Set<Relationship> deletedRelationships = new HashSet<Relationship>();
+            for (Relationship relationship : data.deletedRelationships()) deletedRelationships.add(relationship);
+            if (deletedNodes.isEmpty() && deletedRelationships.isEmpty()) return;
+            for (Iterator<IndexUpdate> it = updates.keySet().iterator(); it.hasNext(); ) {
+                final PropertyContainer state = it.next().state;
+                if (state instanceof Node ? deletedNodes.contains(state) : deletedRelationships.contains(state)) it.remove();
+            }
+        }
+
+        void flush() {
+            if (updates.isEmpty() || asyncIndexWriter != null) return;
+            final List<IndexUpdate> toApply = new ArrayList<IndexUpdate>(updates.values());
+            updates.clear();
+            for (IndexUpdate update : toApply) {
+                applyIndexUpdate(update);
+            }
+            if (log.isDebugEnabled()) log.debug("applied " + toApply.size() + " index updates");
+        }
+
+        /**
+         * with an async index writer the updates are queued while the transaction still holds its locks, so updates of
+         * the same entity are queued in commit order, the writer applies them once the transaction committed
+         */
+        @Override
+        public void beforeCompletion() {
+            if (asyncIndexWriter == null) {
+                flush();
+                return;
+            }
+            if (updates.isEmpty()) return;
+            queuedOperations = asyncIndexWriter.newOperations(false);
+            for (IndexUpdate update : updates.values()) {
+                addIndexOperations(update, queuedOperations);
+            }
+            queuedOperations.queue();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            pendingIndexUpdates.remove(tx);
+            if (queuedOperations != null) queuedOperations.completed(status);
+        }
+    }
+
+    /**
+     * Drops the pending index updates of nodes and relationships deleted through the graph API in the same transaction.
+     * Its synchronization is registered when the transaction begins, so it runs before the one of the {@link IndexUpdates}.
+     */
+    private class DeletedStatesHandler implements TransactionEventHandler<Void> {
+        @Override
+        public Void beforeCommit(TransactionData data) {
+            final IndexUpdates indexUpdates = indexUpdatesForTransaction(false);
+            if (indexUpdates != null) indexUpdates.dropDeleted(data);
+            return null;
+        }
+
+        @Override
+        public void afterCommit(TransactionData data, Void state) {
+        }
+
+        @Override
+        public void afterRollback(TransactionData data, Void state) {
+        }
     }
 
     /**
@@ -233,6 +685,16 @@ public class GraphDatabaseContext {
         return (Iterable<T>) nodeTypeStrategy.findAll((Class<NodeBacked>)clazz);
     }
 
+    /**
+     * delegates to the configured @{link NodeTypeStrategy} to iterate over the nodes of all instances of this type
+     * @param clazz type of entity
+     * @return lazy Iterable over the instance nodes
+     */
+    public Iterable<Node> findAllNodes(final Class<? extends GraphBacked> clazz) {
+        if (!checkIsNodeBacked(clazz)) throw new UnsupportedOperationException("No support for relationships");
+        return nodeTypeStrategy.findAllNodes((Class<NodeBacked>) clazz);
+    }
+
     /**
      * class base check for nodebacked subclasses
      */
@@ -261,6 +723,14 @@ public class GraphDatabaseContext {
 		return nodeTypeStrategy.getJavaType(node);
 	}
 
+    /**
+     * delegates to the configured @{link NodeTypeStrategy}
+     * @return false if no instances of subclasses of the type are stored
+     */
+    public boolean hasSubtypes(final Class<? extends NodeBacked> clazz) {
+        return nodeTypeStrategy.hasSubtypes(clazz);
+    }
+
     /**
      * @return reference node of the graph database
      */
@@ -291,6 +761,27 @@ public class GraphDatabaseContext {
     }
 
 
+    /**
+     * Looks up an existing relationship between two nodes. The relationships of both nodes are iterated alternately,
+     * so the lookup takes at most twice the degree of the node with fewer relationships, even if the other one is a super node.
+     * @param start start node
+     * @param end other node
+     * @param type relationship type
+     * @param direction direction of the relationship as seen from the start node
+     * @return the first relationship found or null if there is none
+     */
+    public Relationship getRelationshipTo(final Node start, final Node end, final RelationshipType type, final Direction direction) {
+        final Iterator<Relationship> fromStart = start.getRelationships(type, direction).iterator();
+        final Iterator<Relationship> fromEnd = end.getRelationships(type, direction.reverse()).iterator();
+        while (fromStart.hasNext() && fromEnd.hasNext()) {
+            final Relationship startRelationship = fromStart.next();
+            if (startRelationship.getOtherNode(start).equals(end)) return startRelationship;
+            final Relationship endRelationship = fromEnd.next();
+            if (endRelationship.getOtherNode(end).equals(start)) return endRelationship;
+        }
+        return null;
+    }
+
     /**
      * @return Neo4j Transaction manager
      */
@@ -311,6 +802,20 @@ public class GraphDatabaseContext {
         }
     }
 
+    /**
+     * @return the currently running JTA transaction or null if there is none
+     */
+    public javax.transaction.Transaction getTransaction() {
+        try {
+            final TransactionManager txManager = getTxManager();
+            if (txManager.getStatus() == Status.STATUS_NO_TRANSACTION) return null;
+            return txManager.getTransaction();
+        } catch (SystemException e) {
+            log.error("Error accessing TransactionManager", e);
+            return null;
+        }
+    }
+
     /**
      * delegates to @{link GraphDatabaseService}
      */
@@ -347,5 +852,25 @@ public class GraphDatabaseContext {
     public void setValidator(Validator validatorFactory) {
         this.validator = validatorFactory;
     }
+
+    public AsyncIndexWriter getAsyncIndexWriter() {
+        return asyncIndexWriter;
+    }
+
+    /**
+     * @param asyncIndexWriter if set, the index updates of indexed fields are applied asynchronously after commit
+     */
+    public void setAsyncIndexWriter(AsyncIndexWriter asyncIndexWriter) {
+        this.asyncIndexWriter = asyncIndexWriter;
+    }
+
+    /**
+     * shuts down the {@link AsyncIndexWriter}, applying its queued operations
+     */
+    @Override
+    public void destroy() {
+        if (graphDatabaseService != null) graphDatabaseService.unregisterTransactionEventHandler(deletedStatesHandler);
+        if (asyncIndexWriter != null) asyncIndexWriter.shutdown();
+    }
 }
 
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.index.Index;
+import org.neo4j.graphdb.index.IndexHits;
+import org.neo4j.helpers.collection.IterableWrapper;
+import org.springframework.data.graph.core.NodeBacked;
+import org.springframework.data.graph.core.NodeTypeStrategy;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link NodeTypeStrategy} that stores the java type of the entity as a node property and adds the node to a type index
+ * for its class and all of its superclasses. {@link #findAll(Class)} and {@link #count(Class)} use the type index, so no
+ * shared type nodes are written or locked when entities are created.
+ */
+public class IndexingNodeTypeStrategy implements NodeTypeStrategy {
+    private final static Log log = LogFactory.getLog(IndexingNodeTypeStrategy.class);
+
+    public static final String TYPE_PROPERTY_NAME = "__type__";
+    public static final String TYPES_INDEX_NAME = "__types__";
+    public static final String INDEX_KEY = "className";
+
+    private final GraphDatabaseContext graphDatabaseContext;
+
+    private final ConcurrentMap<String, Class<?>> types = new ConcurrentHashMap<String, Class<?>>();
+
+    public IndexingNodeTypeStrategy(final GraphDatabaseContext graphDatabaseContext) {
+        this.graphDatabaseContext = graphDatabaseContext;
+    }
+
+    private Index<Node> typesIndex() {
+        return graphDatabaseContext.getNodeIndex(TYPES_INDEX_NAME);
+    }
+
+    /**
+     * stores the type property and indexes the node for its class and all superclasses
+     */
+    @Override
+    public void postEntityCreation(final NodeBacked entity) {
+        final Class<? extends NodeBacked> clazz = entity.getClass();
+        final Node node = entity.getUnderlyingState();
+        node.setProperty(TYPE_PROPERTY_NAME, clazz.getName());
+        final Index<Node> typesIndex = typesIndex();
+        for (Class<?> type = clazz; type != null && type != Object.class; type = type.getSuperclass()) {
+            typesIndex.add(node, INDEX_KEY, type.getName());
+        }
+        if (log.isDebugEnabled()) log.debug("Indexed node: " + node + " with type: " + clazz.getName());
+    }
+
+    @Override
+    public void preEntityRemoval(final NodeBacked entity) {
+        removeTypeIndexEntries(entity, typesIndex());
+    }
+
+    @Override
+    public void preEntitiesRemoval(final Collection<? extends NodeBacked> entities) {
+        final Index<Node> typesIndex = typesIndex();
+        for (NodeBacked entity : entities) {
+            removeTypeIndexEntries(entity, typesIndex);
+        }
+    }
+
+    private void removeTypeIndexEntries(final NodeBacked entity, final Index<Node> typesIndex) {
+        final Node node = entity.getUnderlyingState();
+        for (Class<?> type = entity.getClass(); type != null && type != Object.class; type = type.getSuperclass()) {
+            typesIndex.remove(node, INDEX_KEY, type.getName());
+        }
+        node.removeProperty(TYPE_PROPERTY_NAME);
+        if (log.isDebugEnabled()) log.debug("Removed type index entries of node: " + node);
+    }
+
+    @Override
+    public <T extends NodeBacked> Iterable<T> findAll(final Class<T> clazz) {
+        return new IterableWrapper<T, Node>(findAllNodes(clazz)) {
+            @Override
+            protected T underlyingObjectToObject(final Node node) {
+                return graphDatabaseContext.createEntityFromState(node, IndexingNodeTypeStrategy.this.<T>getJavaType(node));
+            }
+        };
+    }
+
+    /**
+     * @return Iterable that queries the type index for each iteration, the index hits are closed when the iteration is
+     * exhausted or when it is closed early as {@link IndexHits}
+     */
+    @Override
+    public Iterable<Node> findAllNodes(final Class<? extends NodeBacked> clazz) {
+        return new Iterable<Node>() {
+            @Override
+            public Iterator<Node> iterator() {
+                return new ClosingIndexHits(typesIndex().get(INDEX_KEY, clazz.getName()));
+            }
+        };
+    }
+
+    @Override
+    public long count(final Class<? extends NodeBacked> entityClass) {
+        final IndexHits<Node> hits = typesIndex().get(INDEX_KEY, entityClass.getName());
+        try {
+            return hits.size();
+        } finally {
+            hits.close();
+        }
+    }
+
+    /**
+     * the types of the instances are not tracked per class, the type stored on each node is read instead
+     */
+    @Override
+    public boolean hasSubtypes(final Class<? extends NodeBacked> clazz) {
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends NodeBacked> Class<T> getJavaType(final Node node) {
+        final String className = (String) node.getProperty(TYPE_PROPERTY_NAME, null);
+        if (className == null) throw new IllegalStateException("No type stored for node: " + node);
+        Class<?> clazz = types.get(className);
+        if (clazz == null) {
+            try {
+                clazz = Class.forName(className).asSubclass(NodeBacked.class);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Unable to get type for node: " + node, e);
+            }
+            types.put(className, clazz);
+        }
+        return (Class<T>) clazz;
+    }
+
+    @Override
+    public <T extends NodeBacked> Class<T> confirmType(final Node node, final Class<T> type) {
+        final Class<T> nodeType = this.<T>getJavaType(node);
+        if (type.isAssignableFrom(nodeType)) return nodeType;
+        throw new IllegalArgumentException(String.format("%s does not correspond to the node type %s of node %s", type, nodeType, node));
+    }
+
+    /**
+     * Closes the underlying index hits once they are exhausted.
+     */
+    private static class ClosingIndexHits implements IndexHits<Node> {
+        private final IndexHits<Node> hits;
+        private boolean closed;
+
+        ClosingIndexHits(final IndexHits<Node> hits) {
+            this.hits = hits;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (closed) return false;
+            if (hits.hasNext()) return true;
+            close();
+            return false;
+        }
+
+        @Override
+        public Node next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return hits.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Iterator<Node> iterator() {
+            return this;
+        }
+
+        @Override
+        public int size() {
+            return hits.size();
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            hits.close();
+        }
+
+        @Override
+        public Node getSingle() {
+            try {
+                return hits.getSingle();
+            } finally {
+                closed = true;
+            }
+        }
+
+        @Override
+        public float currentScore() {
+            return hits.currentScore();
+        }
+    }
+}
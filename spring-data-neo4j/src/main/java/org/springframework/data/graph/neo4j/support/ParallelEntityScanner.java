@@ -0,0 +1,166 @@
+/*
+ * Copyright 2010 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.data.graph.neo4j.support;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.data.graph.core.NodeBacked;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Scans all instances of an entity type with several threads. The instance nodes are read by the calling thread and
+ * handed out in batches of node ids, each batch is processed by a worker in its own transaction. The work queue is
+ * bounded, when it is full the calling thread waits for a free slot, batches never run in the transaction of the caller.
+ */
+public class ParallelEntityScanner {
+    private final static Log log = LogFactory.getLog(ParallelEntityScanner.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    private final GraphDatabaseContext graphDatabaseContext;
+    private final int threads;
+    private final int batchSize;
+
+    public ParallelEntityScanner(final GraphDatabaseContext graphDatabaseContext) {
+        this(graphDatabaseContext, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+    }
+
+    public ParallelEntityScanner(final GraphDatabaseContext graphDatabaseContext, final int threads, final int batchSize) {
+        if (threads < 1) throw new IllegalArgumentException("At least one thread is required");
+        if (batchSize < 1) throw new IllegalArgumentException("Batch size must be positive");
+        this.graphDatabaseContext = graphDatabaseContext;
+        this.threads = threads;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Calls the callback for every instance of the type (including subclasses), returns when all instances are processed.
+     * A failing batch stops the scan, the first failure is rethrown.
+     * @param type entity type to scan
+     * @param callback called concurrently for each entity
+     * @return number of processed entities
+     */
+    public <T extends NodeBacked> long scan(final Class<T> type, final EntityCallback<? super T> callback) {
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<Runnable>(threads * 2), new WaitForQueuePolicy());
+        final AtomicLong processed = new AtomicLong();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        try {
+            long[] batch = new long[batchSize];
+            int size = 0;
+            for (Node node : graphDatabaseContext.findAllNodes(type)) {
+                if (failure.get() != null) break;
+                batch[size++] = node.getId();
+                if (size == batchSize) {
+                    executor.execute(new Batch<T>(type, batch, size, callback, processed, failure));
+                    batch = new long[batchSize];
+                    size = 0;
+                }
+            }
+            if (size > 0 && failure.get() == null) {
+                executor.execute(new Batch<T>(type, batch, size, callback, processed, failure));
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        rethrow(failure.get());
+        return processed.get();
+    }
+
+    private static void rethrow(final Throwable failure) {
+        if (failure == null) return;
+        if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+        if (failure instanceof Error) throw (Error) failure;
+        throw new IllegalStateException("Error scanning entities", failure);
+    }
+
+    /**
+     * blocks the submitting thread until the work queue has room for the batch
+     */
+    private static class WaitForQueuePolicy implements RejectedExecutionHandler {
+        @Override
+        public void rejectedExecution(final Runnable batch, final ThreadPoolExecutor executor) {
+            if (executor.isShutdown()) throw new RejectedExecutionException("Scan executor is shut down");
+            try {
+                executor.getQueue().put(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while queueing scan batch", e);
+            }
+        }
+    }
+
+    private void awaitTermination(final ThreadPoolExecutor executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                if (log.isDebugEnabled()) log.debug("Waiting for " + executor.getActiveCount() + " scan workers");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for scan workers", e);
+        }
+    }
+
+    private class Batch<T extends NodeBacked> implements Runnable {
+        private final Class<T> type;
+        private final long[] nodeIds;
+        private final int size;
+        private final EntityCallback<? super T> callback;
+        private final AtomicLong processed;
+        private final AtomicReference<Throwable> failure;
+
+        Batch(final Class<T> type, final long[] nodeIds, final int size, final EntityCallback<? super T> callback, final AtomicLong processed, final AtomicReference<Throwable> failure) {
+            this.type = type;
+            this.nodeIds = nodeIds;
+            this.size = size;
+            this.callback = callback;
+            this.processed = processed;
+            this.failure = failure;
+        }
+
+        @Override
+        public void run() {
+            if (failure.get() != null) return;
+            try {
+                final Transaction tx = graphDatabaseContext.beginTx();
+                try {
+                    for (int i = 0; i < size; i++) {
+                        final T entity = graphDatabaseContext.createEntityFromState(graphDatabaseContext.getNodeById(nodeIds[i]), type);
+                        callback.process(entity);
+                    }
+                    tx.success();
+                } finally {
+                    tx.finish();
+                }
+                processed.addAndGet(size);
+            } catch (Throwable t) {
+                failure.compareAndSet(null, t);
+            }
+        }
+    }
+}
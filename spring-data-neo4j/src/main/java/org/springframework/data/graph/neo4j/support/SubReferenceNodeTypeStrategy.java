@@ -20,13 +20,17 @@ import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.neo4j.graphdb.*;
 import org.neo4j.graphdb.traversal.TraversalDescription;
-import org.neo4j.helpers.collection.CombiningIterable;
-import org.neo4j.helpers.collection.IterableWrapper;
 import org.neo4j.kernel.impl.traversal.TraversalDescriptionImpl;
 import org.springframework.data.graph.core.NodeBacked;
 import org.springframework.data.graph.core.NodeTypeStrategy;
 
+import javax.transaction.RollbackException;
+import javax.transaction.Synchronization;
+import javax.transaction.SystemException;
+import javax.transaction.Transaction;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A {@link NodeTypeStrategy} that uses a hierarchy of reference nodes to represent the java type of the entity in the
@@ -34,6 +38,16 @@ import java.util.*;
  * related to supertypes via SUBCLASS_OF relationships. Each concrete subreference node keeps a count property with the number of
  * instances of this class in the graph.
  *
+ * The instance counters can optionally be sharded: each subreference node then owns a number of counter shard nodes
+ * (related via COUNTER_SHARD relationships). New entities are related via INSTANCE_OF to the shard picked by the creating
+ * thread, which also holds its share of the count, so concurrent creators lock that shard instead of the single subreference
+ * node. The subreference node is only locked when a shard is created. {@link #count(Class)} sums up all shards.
+ *
+ * With deferred counter updates the deltas are collected per class for the running transaction and written once per
+ * hierarchy level just before the transaction commits.
+ *
+ * Resolved java types are cached by the class name stored on the subreference node.
+ *
  * @author Michael Hunger
  * @since 13.09.2010
  */
@@ -42,15 +56,57 @@ public class SubReferenceNodeTypeStrategy implements NodeTypeStrategy {
 
     public final static RelationshipType INSTANCE_OF_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("INSTANCE_OF");
     public final static RelationshipType SUBCLASS_OF_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("SUBCLASS_OF");
+    public final static RelationshipType COUNTER_SHARD_RELATIONSHIP_TYPE = DynamicRelationshipType.withName("COUNTER_SHARD");
 
     public static final String SUBREFERENCE_NODE_COUNTER_KEY = "count";
     public static final String SUBREF_PREFIX = "SUBREF_";
 	public static final String SUBREF_CLASS_KEY = "class";
+    public static final String COUNTER_SHARD_KEY = "shard";
 
     private final GraphDatabaseContext graphDatabaseContext;
 
+    private final int counterShards;
+
+    private final boolean deferCounterUpdates;
+
+    private final ConcurrentMap<Transaction, CounterDeltas> pendingCounterDeltas = new ConcurrentHashMap<Transaction, CounterDeltas>();
+
+    /**
+     * resolved java types keyed by the id of the subreference or counter shard node, a type node never changes its class
+     * and the ids of deleted nodes are only reused after a restart, so entries don't become stale
+     */
+    private final ConcurrentMap<Long, Class<?>> types = new ConcurrentHashMap<Long, Class<?>>();
+
     public SubReferenceNodeTypeStrategy(final GraphDatabaseContext graphDatabaseContext) {
+        this(graphDatabaseContext, 1);
+    }
+
+    /**
+     * @param graphDatabaseContext
+     * @param counterShards number of counter shards per subreference node, 1 keeps the count property on the subreference node itself
+     */
+    public SubReferenceNodeTypeStrategy(final GraphDatabaseContext graphDatabaseContext, final int counterShards) {
+        this(graphDatabaseContext, counterShards, false);
+    }
+
+    /**
+     * @param graphDatabaseContext
+     * @param counterShards number of counter shards per subreference node, 1 keeps the count property on the subreference node itself
+     * @param deferCounterUpdates if set, counter changes are aggregated per class and written once before the transaction commits
+     */
+    public SubReferenceNodeTypeStrategy(final GraphDatabaseContext graphDatabaseContext, final int counterShards, final boolean deferCounterUpdates) {
+        if (counterShards < 1) throw new IllegalArgumentException("counterShards must be at least 1, was " + counterShards);
         this.graphDatabaseContext = graphDatabaseContext;
+        this.counterShards = counterShards;
+        this.deferCounterUpdates = deferCounterUpdates;
+    }
+
+    public int getCounterShards() {
+        return counterShards;
+    }
+
+    public boolean isDeferCounterUpdates() {
+        return deferCounterUpdates;
     }
 
     public static Node getSingleOtherNode(Node node, RelationshipType type,
@@ -92,13 +148,15 @@ public class SubReferenceNodeTypeStrategy implements NodeTypeStrategy {
 	    Class<? extends NodeBacked> clazz = entity.getClass();
 
 	    final Node subReference = obtainSubreferenceNode(clazz);
-        entity.getUnderlyingState().createRelationshipTo(subReference, INSTANCE_OF_RELATIONSHIP_TYPE);
-	    subReference.setProperty(SUBREF_CLASS_KEY, clazz.getName());
-	    if (log.isDebugEnabled()) log.debug("Created link to subref node: " + subReference + " with type: " + clazz.getName());
+	    setClassName(subReference, clazz);
+	    final Node typeNode = instanceOfTarget(subReference);
+        entity.getUnderlyingState().createRelationshipTo(typeNode, INSTANCE_OF_RELATIONSHIP_TYPE);
+	    if (log.isDebugEnabled()) log.debug("Created link to type node: " + typeNode + " with type: " + clazz.getName());
 
-        incrementAndGetCounter(subReference, SUBREFERENCE_NODE_COUNTER_KEY);
+        final boolean deferred = deferCounterUpdate(clazz, 1);
+        if (!deferred) updateCounter(subReference, 1);
 
-	    updateSuperClassSubrefs(clazz, subReference);
+	    updateSuperClassSubrefs(clazz, subReference, !deferred);
     }
 
     /**
@@ -110,18 +168,44 @@ public class SubReferenceNodeTypeStrategy implements NodeTypeStrategy {
         Class<? extends NodeBacked> clazz = entity.getClass();
 
         final Node subReference = obtainSubreferenceNode(clazz);
-        Node subRefNode = entity.getUnderlyingState();
-        Relationship instanceOf = subRefNode.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
-        instanceOf.delete();
-        if (log.isDebugEnabled()) log.debug("Removed link to subref node: " + subReference + " with type: " + clazz.getName());
+        removeInstanceOf(entity);
+        if (deferCounterUpdate(clazz, -1)) return;
         TraversalDescription traversal = new TraversalDescriptionImpl().depthFirst().relationships(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
         for (Node node : traversal.traverse(subReference).nodes()) {
-            Integer count = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY);
-            Integer newCount = decrementAndGetCounter(node, SUBREFERENCE_NODE_COUNTER_KEY, 0);
-            if (log.isDebugEnabled()) log.debug("count on ref " + node + " was " + count + " new " + newCount);
+            updateCounter(node, -1);
+            if (log.isDebugEnabled()) log.debug("decremented count on ref " + node);
         }
     }
 
+    /**
+     * removes the instanceof relationships of all entities, the counter deltas are aggregated per class so that each
+     * subreference node is updated once
+     */
+    @Override
+    public void preEntitiesRemoval(Collection<? extends NodeBacked> entities) {
+        final Map<Class<?>, Integer> deltas = new HashMap<Class<?>, Integer>();
+        for (NodeBacked entity : entities) {
+            removeInstanceOf(entity);
+            final Integer delta = deltas.get(entity.getClass());
+            deltas.put(entity.getClass(), delta == null ? -1 : delta - 1);
+        }
+        final CounterDeltas counterDeltas = deferCounterUpdates ? counterDeltasForTransaction(true) : null;
+        if (counterDeltas == null) {
+            applyCounterDeltas(deltas);
+            return;
+        }
+        for (Map.Entry<Class<?>, Integer> entry : deltas.entrySet()) {
+            counterDeltas.add(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void removeInstanceOf(NodeBacked entity) {
+        Node node = entity.getUnderlyingState();
+        Relationship instanceOf = node.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING);
+        instanceOf.delete();
+        if (log.isDebugEnabled()) log.debug("Removed link to type node: " + instanceOf.getEndNode() + " with type: " + entity.getClass().getName());
+    }
+
     @Override
     public <T extends NodeBacked> Class<T> confirmType(Node node, Class<T> type) {
         Class<T> nodeType = this.<T>getJavaType(node);
@@ -129,67 +213,355 @@ public class SubReferenceNodeTypeStrategy implements NodeTypeStrategy {
         throw new IllegalArgumentException(String.format("%s does not correspond to the node type %s of node %s",type,nodeType,node));
     }
 
-    private void updateSuperClassSubrefs(Class<?> clazz, Node subReference) {
+    private void updateSuperClassSubrefs(Class<?> clazz, Node subReference, boolean updateCounters) {
 	    Class<?> superClass = clazz.getSuperclass();
 	    if (superClass != null) {
 		    Node superClassSubref = obtainSubreferenceNode(superClass);
 		    if (getSingleOtherNode(subReference, SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.OUTGOING) == null) {
 			    subReference.createRelationshipTo(superClassSubref, SUBCLASS_OF_RELATIONSHIP_TYPE);
 		    }
-		    superClassSubref.setProperty(SUBREF_CLASS_KEY, superClass.getName());
-		    Integer count = incrementAndGetCounter(superClassSubref, SUBREFERENCE_NODE_COUNTER_KEY);
-		    if (log.isDebugEnabled()) log.debug("count on ref " + superClassSubref + " for class " + superClass.getSimpleName() + " = " + count);
-		    updateSuperClassSubrefs(superClass, superClassSubref);
+		    setClassName(superClassSubref, superClass);
+		    if (updateCounters) {
+		        updateCounter(superClassSubref, 1);
+		        if (log.isDebugEnabled()) log.debug("incremented count on ref " + superClassSubref + " for class " + superClass.getSimpleName());
+		    }
+		    updateSuperClassSubrefs(superClass, superClassSubref, updateCounters);
 	    }
 	}
 
+    /**
+     * only writes the class name if it is not yet set, to avoid taking the write lock of the subreference node on every creation
+     */
+    private void setClassName(Node subReference, Class<?> clazz) {
+        if (!subReference.hasProperty(SUBREF_CLASS_KEY)) {
+            subReference.setProperty(SUBREF_CLASS_KEY, clazz.getName());
+        }
+    }
+
+    /**
+     * adds the delta to the counter of the subreference node. Increments go to the shard of the current thread,
+     * decrements start with that shard and continue with the other shards (and the unsharded count on the subreference node)
+     * as long as they are positive.
+     */
+    private void updateCounter(Node subReference, int delta) {
+        if (delta == 0) return;
+        if (counterShards == 1) {
+            addToCounter(subReference, delta);
+            return;
+        }
+        if (delta > 0) {
+            addToCounter(obtainCounterShard(subReference, currentShard()), delta);
+            return;
+        }
+        final int shard = currentShard();
+        final List<Node> shardNodes = new ArrayList<Node>();
+        for (Relationship relationship : subReference.getRelationships(COUNTER_SHARD_RELATIONSHIP_TYPE, Direction.OUTGOING)) {
+            final Node shardNode = relationship.getEndNode();
+            if (shardNode.getProperty(COUNTER_SHARD_KEY, -1).equals(shard)) shardNodes.add(0, shardNode);
+            else shardNodes.add(shardNode);
+        }
+        shardNodes.add(subReference);
+        int remaining = -delta;
+        for (Node node : shardNodes) {
+            final int count = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+            if (count <= 0) continue;
+            final int decrement = Math.min(count, remaining);
+            addToCounter(node, -decrement);
+            remaining -= decrement;
+            if (remaining == 0) return;
+        }
+    }
+
+    private static int addToCounter(Node node, int delta) {
+        acquireWriteLock(node);
+        int value = (Integer) node.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0) + delta;
+        value = value < 0 ? 0 : value;
+        node.setProperty(SUBREFERENCE_NODE_COUNTER_KEY, value);
+        return value;
+    }
+
+    /**
+     * creating the INSTANCE_OF relationship write-locks its end node, with sharded counters it goes to the shard of the
+     * current thread instead of the subreference node
+     */
+    private Node instanceOfTarget(Node subReference) {
+        if (counterShards == 1) return subReference;
+        return obtainCounterShard(subReference, currentShard());
+    }
+
+    /**
+     * @return the subreference node of a node related via INSTANCE_OF, which is either the subreference node itself or one of its counter shards
+     */
+    private Node subreferenceOf(Node typeNode) {
+        if (!typeNode.hasProperty(COUNTER_SHARD_KEY)) return typeNode;
+        return typeNode.getSingleRelationship(COUNTER_SHARD_RELATIONSHIP_TYPE, Direction.INCOMING).getStartNode();
+    }
+
+    private int currentShard() {
+        return (int) (Thread.currentThread().getId() % counterShards);
+    }
+
+    private Node findCounterShard(Node subReference, int shard) {
+        for (Relationship relationship : subReference.getRelationships(COUNTER_SHARD_RELATIONSHIP_TYPE, Direction.OUTGOING)) {
+            final Node shardNode = relationship.getEndNode();
+            if (shardNode.getProperty(COUNTER_SHARD_KEY, -1).equals(shard)) return shardNode;
+        }
+        return null;
+    }
+
+    /**
+     * creating a shard locks the subreference node once, afterwards only the shard node is locked for counter updates
+     */
+    private Node obtainCounterShard(Node subReference, int shard) {
+        Node shardNode = findCounterShard(subReference, shard);
+        if (shardNode != null) return shardNode;
+        acquireWriteLock(subReference);
+        shardNode = findCounterShard(subReference, shard);
+        if (shardNode != null) return shardNode;
+        shardNode = graphDatabaseContext.createNode();
+        shardNode.setProperty(COUNTER_SHARD_KEY, shard);
+        subReference.createRelationshipTo(shardNode, COUNTER_SHARD_RELATIONSHIP_TYPE);
+        return shardNode;
+    }
+
+    /**
+     * @return sum of the count property on the subreference node and all of its counter shards
+     */
+    private long readCounter(Node subReference) {
+        long count = (Integer) subReference.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        for (Relationship relationship : subReference.getRelationships(COUNTER_SHARD_RELATIONSHIP_TYPE, Direction.OUTGOING)) {
+            count += (Integer) relationship.getEndNode().getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        }
+        return count;
+    }
+
 	@Override
     public long count(final Class<? extends NodeBacked> entityClass) {
         final Node subrefNode = findSubreferenceNode(entityClass);
-        if (subrefNode == null) return 0;
-        return (Integer) subrefNode.getProperty(SUBREFERENCE_NODE_COUNTER_KEY, 0);
+        final long pending = pendingCounterDelta(entityClass);
+        if (subrefNode == null) return pending;
+        return readCounter(subrefNode) + pending;
+    }
+
+    /**
+     * records the counter delta for the class in the running transaction, the deltas are applied once per transaction
+     * in {@link CounterDeltas#beforeCompletion()}
+     * @return false if the counter has to be updated immediately
+     */
+    private boolean deferCounterUpdate(Class<?> clazz, int delta) {
+        if (!deferCounterUpdates) return false;
+        final CounterDeltas counterDeltas = counterDeltasForTransaction(true);
+        if (counterDeltas == null) return false;
+        counterDeltas.add(clazz, delta);
+        return true;
+    }
+
+    private long pendingCounterDelta(Class<?> clazz) {
+        if (!deferCounterUpdates) return 0;
+        final CounterDeltas counterDeltas = counterDeltasForTransaction(false);
+        return counterDeltas == null ? 0 : counterDeltas.pendingDelta(clazz);
+    }
+
+    private CounterDeltas counterDeltasForTransaction(boolean create) {
+        final Transaction tx = graphDatabaseContext.getTransaction();
+        if (tx == null) return null;
+        CounterDeltas counterDeltas = pendingCounterDeltas.get(tx);
+        if (counterDeltas != null || !create) return counterDeltas;
+        counterDeltas = new CounterDeltas(tx);
+        try {
+            tx.registerSynchronization(counterDeltas);
+        } catch (RollbackException e) {
+            return null;
+        } catch (SystemException e) {
+            throw new IllegalStateException("Error registering counter update synchronization", e);
+        }
+        pendingCounterDeltas.put(tx, counterDeltas);
+        return counterDeltas;
+    }
+
+    /**
+     * applies the aggregated deltas of all classes to the subreference nodes of their type hierarchy, so that each
+     * subreference node is written at most once
+     */
+    private void applyCounterDeltas(Map<Class<?>, Integer> deltas) {
+        final Map<Class<?>, Integer> hierarchyDeltas = new LinkedHashMap<Class<?>, Integer>();
+        for (Map.Entry<Class<?>, Integer> entry : deltas.entrySet()) {
+            for (Class<?> clazz = entry.getKey(); clazz != null; clazz = clazz.getSuperclass()) {
+                final Integer delta = hierarchyDeltas.get(clazz);
+                hierarchyDeltas.put(clazz, delta == null ? entry.getValue() : delta + entry.getValue());
+            }
+        }
+        for (Map.Entry<Class<?>, Integer> entry : hierarchyDeltas.entrySet()) {
+            if (entry.getValue() == 0) continue;
+            updateCounter(obtainSubreferenceNode(entry.getKey()), entry.getValue());
+            if (log.isDebugEnabled()) log.debug("applied counter delta " + entry.getValue() + " for class " + entry.getKey().getSimpleName());
+        }
+    }
+
+    /**
+     * Counter deltas per class accumulated during a single transaction.
+     */
+    private class CounterDeltas implements Synchronization {
+        private final Transaction tx;
+        private final Map<Class<?>, Integer> deltas = new HashMap<Class<?>, Integer>();
+
+        CounterDeltas(Transaction tx) {
+            this.tx = tx;
+        }
+
+        void add(Class<?> clazz, int delta) {
+            final Integer current = deltas.get(clazz);
+            deltas.put(clazz, current == null ? delta : current + delta);
+        }
+
+        long pendingDelta(Class<?> clazz) {
+            long result = 0;
+            for (Map.Entry<Class<?>, Integer> entry : deltas.entrySet()) {
+                if (clazz.isAssignableFrom(entry.getKey())) result += entry.getValue();
+            }
+            return result;
+        }
+
+        @Override
+        public void beforeCompletion() {
+            applyCounterDeltas(deltas);
+            deltas.clear();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            pendingCounterDeltas.remove(tx);
+        }
     }
 
 	@Override
 	@SuppressWarnings("unchecked")
-	public <T extends NodeBacked> Class<T> getJavaType(Node node) {         
-		Node subrefNode = node.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING).getEndNode();
+	public <T extends NodeBacked> Class<T> getJavaType(Node node) {
+		Class<?> clazz = getTypeNodeType(node.getSingleRelationship(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING).getEndNode());
+		if (log.isDebugEnabled()) log.debug("Found class " + clazz.getSimpleName() + " for node: " + node);
+		return (Class<T>) clazz;
+	}
+
+	/**
+	 * @param typeNode subreference node or one of its counter shards, only resolved via the subreference node on the first lookup
+	 */
+	private Class<?> getTypeNodeType(Node typeNode) {
+		Class<?> clazz = types.get(typeNode.getId());
+		if (clazz != null) return clazz;
+		clazz = getSubrefType(subreferenceOf(typeNode));
+		types.put(typeNode.getId(), clazz);
+		return clazz;
+	}
+
+	private Class<?> getSubrefType(Node subrefNode) {
+		Class<?> clazz = types.get(subrefNode.getId());
+		if (clazz != null) return clazz;
+		final String className = (String) subrefNode.getProperty(SUBREF_CLASS_KEY);
 		try {
-			Class<T> clazz = (Class<T>) Class.forName((String) subrefNode.getProperty(SUBREF_CLASS_KEY)).asSubclass(NodeBacked.class);
-			if (log.isDebugEnabled()) log.debug("Found class " + clazz.getSimpleName() + " for node: " + node);
-			return clazz;
+			clazz = Class.forName(className).asSubclass(NodeBacked.class);
 		} catch (ClassNotFoundException e) {
-			throw new IllegalStateException("Unable to get type for node: " + node, e);
+			throw new IllegalStateException("Unable to get type for subreference node: " + subrefNode, e);
 		}
+		types.put(subrefNode.getId(), clazz);
+		return clazz;
+	}
+
+	/**
+	 * subclasses relate their subreference nodes to the one of the type via SUBCLASS_OF, without a subreference node the
+	 * type is unknown and treated as having subtypes
+	 */
+	@Override
+	public boolean hasSubtypes(final Class<? extends NodeBacked> clazz) {
+		final Node subrefNode = findSubreferenceNode(clazz);
+		return subrefNode == null || subrefNode.hasRelationship(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.INCOMING);
 	}
 
 	@Override
     public <T extends NodeBacked> Iterable<T> findAll(final Class<T> clazz) {
         final Node subrefNode = findSubreferenceNode(clazz);
 		if (log.isDebugEnabled()) log.debug("Subref: " + subrefNode);
-		Iterable<Iterable<T>> relIterables = findEntityIterables(subrefNode);
-		return new CombiningIterable<T>(relIterables);
+        return new Iterable<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return new SubrefHierarchyIterator<T>(subrefNode) {
+                    @Override
+                    protected T convert(Node node, Class<? extends NodeBacked> type) {
+                        T entity = (T) graphDatabaseContext.getGraphEntityInstantiator().createEntityFromState(node, (Class<NodeBacked>) type);
+                        if (log.isDebugEnabled()) log.debug("Converting node: " + node + " to entity: " + entity);
+                        return entity;
+                    }
+                };
+            }
+        };
     }
 
-	private <T extends NodeBacked> List<Iterable<T>> findEntityIterables(Node subrefNode) {
-        if (subrefNode == null) return Collections.emptyList();
-		List<Iterable<T>> result = new LinkedList<Iterable<T>>();
-		for (Relationship relationship : subrefNode.getRelationships(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
-			result.addAll((Collection<? extends Iterable<T>>) findEntityIterables(relationship.getStartNode()));
-		}
-		Iterable<T> t = new IterableWrapper<T, Relationship>(subrefNode.getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+    @Override
+    public Iterable<Node> findAllNodes(final Class<? extends NodeBacked> clazz) {
+        final Node subrefNode = findSubreferenceNode(clazz);
+		if (log.isDebugEnabled()) log.debug("Subref: " + subrefNode);
+        return new Iterable<Node>() {
             @Override
-            protected T underlyingObjectToObject(final Relationship rel) {
-                final Node node = rel.getStartNode();
-	            T entity = (T) graphDatabaseContext.createEntityFromState(node, getJavaType(node));
-	            if (log.isDebugEnabled()) log.debug("Converting node: " + node + " to entity: " + entity);
-	            return entity;
+            public Iterator<Node> iterator() {
+                return new SubrefHierarchyIterator<Node>(subrefNode) {
+                    @Override
+                    protected Node convert(Node node, Class<? extends NodeBacked> type) {
+                        return node;
+                    }
+                };
             }
         };
-		result.add(t);
-		return result;
-	}
+    }
+
+    /**
+     * Streams the instance nodes of a subreference node and of all its subclass subreference nodes, using an explicit
+     * stack of pending subreference nodes. The instances of a subreference node are related to it or to one of its
+     * counter shards. The class of a subreference node is resolved once and passed along with each of its instances.
+     */
+    private abstract class SubrefHierarchyIterator<T> implements Iterator<T> {
+        private final LinkedList<Node> pendingSubrefs = new LinkedList<Node>();
+        private final LinkedList<Node> pendingTypeNodes = new LinkedList<Node>();
+        private Iterator<Relationship> instances = Collections.<Relationship>emptyList().iterator();
+        private Node currentSubref;
+        private Class<? extends NodeBacked> currentType;
+
+        SubrefHierarchyIterator(Node subrefNode) {
+            if (subrefNode != null) pendingSubrefs.add(subrefNode);
+        }
 
+        @Override
+        public boolean hasNext() {
+            while (!instances.hasNext()) {
+                if (pendingTypeNodes.isEmpty()) {
+                    if (pendingSubrefs.isEmpty()) return false;
+                    currentSubref = pendingSubrefs.removeFirst();
+                    currentType = null;
+                    for (Relationship relationship : currentSubref.getRelationships(SUBCLASS_OF_RELATIONSHIP_TYPE, Direction.INCOMING)) {
+                        pendingSubrefs.addFirst(relationship.getStartNode());
+                    }
+                    pendingTypeNodes.add(currentSubref);
+                    for (Relationship relationship : currentSubref.getRelationships(COUNTER_SHARD_RELATIONSHIP_TYPE, Direction.OUTGOING)) {
+                        pendingTypeNodes.add(relationship.getEndNode());
+                    }
+                }
+                instances = pendingTypeNodes.removeFirst().getRelationships(INSTANCE_OF_RELATIONSHIP_TYPE, Direction.INCOMING).iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            if (currentType == null) currentType = getSubrefType(currentSubref).asSubclass(NodeBacked.class);
+            return convert(instances.next().getStartNode(), currentType);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        protected abstract T convert(Node node, Class<? extends NodeBacked> type);
+    }
 
 	public Node obtainSubreferenceNode(final Class<?> entityClass) {
         return graphDatabaseContext.getOrCreateSubReferenceNode(subRefRelationshipType(entityClass));
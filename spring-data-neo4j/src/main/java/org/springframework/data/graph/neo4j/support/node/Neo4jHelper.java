@@ -27,6 +27,7 @@ public abstract class Neo4jHelper {
 
     public static void cleanDb(GraphDatabaseContext graphDatabaseContext) {
         cleanDb(graphDatabaseContext.getGraphDatabaseService());
+        graphDatabaseContext.clearIndexCache();
     }
 
     public static void cleanDb(GraphDatabaseService graphDatabaseService) {
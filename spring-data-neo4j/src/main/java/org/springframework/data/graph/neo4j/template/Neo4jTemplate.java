@@ -22,13 +22,17 @@ import org.neo4j.graphdb.index.IndexManager;
 import org.neo4j.graphdb.index.RelationshipIndex;
 import org.neo4j.graphdb.traversal.TraversalDescription;
 import org.neo4j.helpers.collection.IterableWrapper;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.graph.UncategorizedGraphStoreException;
+import org.springframework.data.graph.neo4j.support.AsyncIndexWriter;
 
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
-public class Neo4jTemplate implements Neo4jOperations {
+public class Neo4jTemplate implements Neo4jOperations, DisposableBean {
 
     private final boolean useExplicitTransactions;
 
@@ -37,6 +41,11 @@ public class Neo4jTemplate implements Neo4jOperations {
     private final Neo4jExceptionTranslator exceptionTranslator = new Neo4jExceptionTranslator();
     private final IndexManager index;
 
+    private final AsyncIndexWriter asyncIndexWriter;
+
+    private final ConcurrentMap<String, Index<Node>> nodeIndexes = new ConcurrentHashMap<String, Index<Node>>();
+    private final ConcurrentMap<String, RelationshipIndex> relationshipIndexes = new ConcurrentHashMap<String, RelationshipIndex>();
+
     private static void notNull(Object... pairs) {
         assert pairs.length % 2 == 0 : "wrong number of pairs to check";
         for (int i = 0; i < pairs.length; i += 2) {
@@ -71,12 +80,32 @@ public class Neo4jTemplate implements Neo4jOperations {
      * @return a Neo4jTemplate instance
      */
     public Neo4jTemplate(final GraphDatabaseService graphDatabaseService, boolean useExplicitTransactions) {
+        this(graphDatabaseService, useExplicitTransactions, null);
+    }
+
+    /**
+     * @param graphDatabaseService the neo4j graph database
+     * @param useExplicitTransactions if set the template only participates in outside transactions,
+     * no internal implicit transactions are started
+     * @param asyncIndexWriter if set, {@link #index} and {@link #autoIndex} hand the index additions to the writer which
+     * applies them after commit, queries don't see them until then. The writer is shut down with the template.
+     */
+    public Neo4jTemplate(final GraphDatabaseService graphDatabaseService, boolean useExplicitTransactions, AsyncIndexWriter asyncIndexWriter) {
         notNull(graphDatabaseService, "graphDatabaseService");
         this.useExplicitTransactions = useExplicitTransactions;
         this.graphDatabaseService = graphDatabaseService;
+        this.asyncIndexWriter = asyncIndexWriter;
         index = this.graphDatabaseService.index();
     }
 
+    /**
+     * shuts down the {@link AsyncIndexWriter} of the template, applying its queued operations
+     */
+    @Override
+    public void destroy() {
+        if (asyncIndexWriter != null) asyncIndexWriter.shutdown();
+    }
+
     public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
         return exceptionTranslator.translateExceptionIfPossible(ex);
     }
@@ -160,6 +189,11 @@ public class Neo4jTemplate implements Neo4jOperations {
     @Override
     public <T extends PropertyContainer> T index(final String indexName, final T element, final String field, final Object value) {
         notNull(element, "element", field, "field", value, "value");
+        if (asyncIndexWriter != null) {
+            if (!(element instanceof Node) && !(element instanceof Relationship)) throw new IllegalArgumentException("Provided element is neither node nor relationship " + element);
+            asyncIndexWriter.add(element, indexName, field, value);
+            return element;
+        }
         exec(new GraphCallback.WithoutResult() {
             @Override
             public void doWithGraphWithoutResult(GraphDatabaseService graph) throws Exception {
@@ -177,19 +211,58 @@ public class Neo4jTemplate implements Neo4jOperations {
     }
 
     private RelationshipIndex relationshipWriteIndex(String indexName) {
-        if (indexName == null) {
-            return index.forRelationships("relationship");
-        }
-        return index.forRelationships(indexName);
+        final String indexNameToUse = indexName == null ? "relationship" : indexName;
+        RelationshipIndex relationshipIndex = relationshipIndexes.get(indexNameToUse);
+        if (relationshipIndex != null) return relationshipIndex;
+        relationshipIndex = index.forRelationships(indexNameToUse);
+        final RelationshipIndex existing = relationshipIndexes.putIfAbsent(indexNameToUse, relationshipIndex);
+        return existing != null ? existing : relationshipIndex;
     }
 
+    /**
+     * the index manager is only asked for names that resolved to neither a relationship nor a node index before,
+     * the cached handles are dropped by {@link #deleteNodeIndex}, {@link #deleteRelationshipIndex} and {@link #clearIndexCache}
+     */
     private RelationshipIndex relationshipIndex(String indexName) {
-        if (indexName != null && index.existsForRelationships(indexName)) {
-            return index.forRelationships(indexName);
+        if (indexName == null) return null;
+        final RelationshipIndex relationshipIndex = relationshipIndexes.get(indexName);
+        if (relationshipIndex != null) return relationshipIndex;
+        if (nodeIndexes.containsKey(indexName)) return null;
+        if (index.existsForRelationships(indexName)) {
+            return relationshipWriteIndex(indexName);
         }
         return null;
     }
 
+    /**
+     * deletes the node index and removes it from the cached index handles
+     */
+    public void deleteNodeIndex(String indexName) {
+        final String indexNameToUse = indexName == null ? "node" : indexName;
+        nodeIndex(indexNameToUse).delete();
+        nodeIndexes.remove(indexNameToUse);
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
+    /**
+     * deletes the relationship index and removes it from the cached index handles
+     */
+    public void deleteRelationshipIndex(String indexName) {
+        final String indexNameToUse = indexName == null ? "relationship" : indexName;
+        relationshipWriteIndex(indexNameToUse).delete();
+        relationshipIndexes.remove(indexNameToUse);
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
+    /**
+     * clears the cached index handles, needed when indexes are deleted directly through the {@link IndexManager}
+     */
+    public void clearIndexCache() {
+        nodeIndexes.clear();
+        relationshipIndexes.clear();
+        if (asyncIndexWriter != null) asyncIndexWriter.clearIndexCache();
+    }
+
     @Override
     public <T> Iterable<T> query(String indexName, final PathMapper<T> pathMapper, Object queryOrQueryObject) {
         notNull(queryOrQueryObject, "queryOrQueryObject", pathMapper, "pathMapper");
@@ -230,7 +303,12 @@ public class Neo4jTemplate implements Neo4jOperations {
     }
 
     private Index<Node> nodeIndex(String indexName) {
-        return index.forNodes(indexName == null ? "node" : indexName);
+        final String indexNameToUse = indexName == null ? "node" : indexName;
+        Index<Node> nodeIndex = nodeIndexes.get(indexNameToUse);
+        if (nodeIndex != null) return nodeIndex;
+        nodeIndex = index.forNodes(indexNameToUse);
+        final Index<Node> existing = nodeIndexes.putIfAbsent(indexNameToUse, nodeIndex);
+        return existing != null ? existing : nodeIndex;
     }
 
     @Override
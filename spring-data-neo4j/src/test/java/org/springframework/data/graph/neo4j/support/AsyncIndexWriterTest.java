@@ -0,0 +1,273 @@
+package org.springframework.data.graph.neo4j.support;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Node;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.graph.neo4j.Group;
+import org.springframework.data.graph.neo4j.finder.FinderFactory;
+import org.springframework.data.graph.neo4j.finder.NodeFinder;
+import org.springframework.data.graph.neo4j.support.node.Neo4jHelper;
+import org.springframework.data.graph.neo4j.template.Neo4jTemplate;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import javax.transaction.Synchronization;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:org/springframework/data/graph/neo4j/support/Neo4jGraphPersistenceTest-context.xml"})
+public class AsyncIndexWriterTest {
+
+    private static final String NAME = "name";
+
+    @Autowired
+    GraphDatabaseContext graphDatabaseContext;
+
+    @Autowired
+    FinderFactory finderFactory;
+
+    private AsyncIndexWriter asyncIndexWriter;
+
+    @Before
+    public void setUp() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        asyncIndexWriter = new AsyncIndexWriter(graphDatabaseContext.getGraphDatabaseService(), 10, 2);
+        graphDatabaseContext.setAsyncIndexWriter(asyncIndexWriter);
+    }
+
+    @After
+    public void tearDown() {
+        graphDatabaseContext.setAsyncIndexWriter(null);
+        asyncIndexWriter.shutdown();
+    }
+
+    @Test
+    public void testIndexedFieldsAreIndexedAfterCommit() {
+        Transaction tx = graphDatabaseContext.beginTx();
+        Group group;
+        try {
+            group = new Group();
+            group.setName("first");
+            group.setName("second");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        asyncIndexWriter.flush();
+        final NodeFinder<Group> finder = finderFactory.createNodeEntityFinder(Group.class);
+        assertNull(finder.findByPropertyValue(null, NAME, "first"));
+        assertEquals(group, finder.findByPropertyValue(null, NAME, "second"));
+    }
+
+    @Test
+    public void testRolledBackChangesAreNotIndexed() {
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            new Group().setName("rolledBack");
+            tx.failure();
+        } finally {
+            tx.finish();
+        }
+        asyncIndexWriter.flush();
+        final NodeFinder<Group> finder = finderFactory.createNodeEntityFinder(Group.class);
+        assertNull(finder.findByPropertyValue(null, NAME, "rolledBack"));
+    }
+
+    @Test
+    public void testTemplateIndexesAsynchronously() {
+        final Neo4jTemplate template = new Neo4jTemplate(graphDatabaseContext.getGraphDatabaseService(), false, asyncIndexWriter);
+        Transaction tx = graphDatabaseContext.beginTx();
+        Node node;
+        try {
+            node = graphDatabaseContext.createNode();
+            template.index(null, node, NAME, "async");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        asyncIndexWriter.flush();
+        assertEquals(node, graphDatabaseContext.getNodeIndex(null).get(NAME, "async").getSingle());
+    }
+
+    @Test
+    public void testFailingOperationDoesNotDropTheOthersAndIsReportedByFlush() {
+        Transaction tx = graphDatabaseContext.beginTx();
+        Node node;
+        try {
+            node = graphDatabaseContext.createNode();
+            asyncIndexWriter.add(node, null, NAME, new Object() {
+                @Override
+                public String toString() {
+                    throw new IllegalStateException("unindexable value");
+                }
+            });
+            asyncIndexWriter.add(node, null, NAME, "valid");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        try {
+            asyncIndexWriter.flush();
+            fail("failure is reported by flush");
+        } catch (IllegalStateException expected) {
+        }
+        assertEquals(1, asyncIndexWriter.getFailedOperations());
+        assertEquals(1, asyncIndexWriter.getAppliedOperations());
+        assertEquals(node, graphDatabaseContext.getNodeIndex(null).get(NAME, "valid").getSingle());
+        asyncIndexWriter.flush();
+    }
+
+    @Test
+    public void testTransactionsOnSameEntityAreIndexedInCommitOrder() throws Exception {
+        final Node node = createIndexedNode("initial");
+        final CountDownLatch firstPrepared = new CountDownLatch(1);
+        final CountDownLatch secondCommitted = new CountDownLatch(1);
+        final Thread first = new Thread() {
+            @Override
+            public void run() {
+                Transaction tx = graphDatabaseContext.beginTx();
+                try {
+                    node.setProperty(NAME, "first");
+                    graphDatabaseContext.getTransaction().registerSynchronization(new Synchronization() {
+                        @Override
+                        public void beforeCompletion() {
+                        }
+
+                        @Override
+                        public void afterCompletion(int status) {
+                            try {
+                                secondCommitted.await(5, TimeUnit.SECONDS);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                    });
+                    asyncIndexWriter.remove(node, null, NAME, "initial");
+                    asyncIndexWriter.add(node, null, NAME, "first");
+                    tx.success();
+                } catch (Exception e) {
+                    throw new RuntimeException(e);
+                } finally {
+                    firstPrepared.countDown();
+                    tx.finish();
+                }
+            }
+        };
+        first.start();
+        firstPrepared.await();
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            node.setProperty(NAME, "second");
+            asyncIndexWriter.remove(node, null, NAME, "first");
+            asyncIndexWriter.add(node, null, NAME, "second");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        secondCommitted.countDown();
+        first.join();
+        asyncIndexWriter.flush();
+        assertEquals("second transaction committed last", "second", node.getProperty(NAME));
+        assertNull(graphDatabaseContext.getNodeIndex(null).get(NAME, "first").getSingle());
+        assertEquals(node, graphDatabaseContext.getNodeIndex(null).get(NAME, "second").getSingle());
+    }
+
+    @Test
+    public void testProducersBlockWhileWriterWaitsForRunningTransaction() throws Exception {
+        final AsyncIndexWriter writer = new AsyncIndexWriter(graphDatabaseContext.getGraphDatabaseService(), 1, 1);
+        try {
+            final Node node = createIndexedNode("initial");
+            final CountDownLatch queued = new CountDownLatch(1);
+            final CountDownLatch release = new CountDownLatch(1);
+            final Thread slow = new Thread() {
+                @Override
+                public void run() {
+                    Transaction tx = graphDatabaseContext.beginTx();
+                    try {
+                        writer.add(node, null, NAME, "slow");
+                        graphDatabaseContext.getTransaction().registerSynchronization(new Synchronization() {
+                            @Override
+                            public void beforeCompletion() {
+                                queued.countDown();
+                                try {
+                                    release.await(5, TimeUnit.SECONDS);
+                                } catch (InterruptedException e) {
+                                    Thread.currentThread().interrupt();
+                                }
+                            }
+
+                            @Override
+                            public void afterCompletion(int status) {
+                            }
+                        });
+                        tx.success();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    } finally {
+                        tx.finish();
+                    }
+                }
+            };
+            slow.start();
+            queued.await();
+            final CountDownLatch produced = new CountDownLatch(1);
+            final Thread producer = new Thread() {
+                @Override
+                public void run() {
+                    writer.add(node, null, NAME, "a");
+                    writer.add(node, null, NAME, "b");
+                    produced.countDown();
+                }
+            };
+            producer.start();
+            assertFalse("producer blocks while the writer waits for the running transaction", produced.await(500, TimeUnit.MILLISECONDS));
+            release.countDown();
+            assertTrue("producer continues once the transaction completed", produced.await(5, TimeUnit.SECONDS));
+            slow.join();
+            writer.flush();
+            assertEquals(3, writer.getAppliedOperations());
+        } finally {
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    public void testShutdownAppliesQueuedOperationsAndStopsWriter() {
+        final AsyncIndexWriter writer = new AsyncIndexWriter(graphDatabaseContext.getGraphDatabaseService(), 10, 2);
+        final Node node = createIndexedNode("initial");
+        writer.add(node, null, NAME, "beforeShutdown");
+        writer.destroy();
+        assertEquals(node, graphDatabaseContext.getNodeIndex(null).get(NAME, "beforeShutdown").getSingle());
+        writer.shutdown();
+        try {
+            writer.add(node, null, NAME, "afterShutdown");
+            fail("shut down writer rejects operations");
+        } catch (IllegalStateException expected) {
+        }
+    }
+
+    private Node createIndexedNode(String name) {
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            final Node node = graphDatabaseContext.createNode();
+            node.setProperty(NAME, name);
+            asyncIndexWriter.add(node, null, NAME, name);
+            tx.success();
+            return node;
+        } finally {
+            tx.finish();
+            asyncIndexWriter.flush();
+        }
+    }
+}
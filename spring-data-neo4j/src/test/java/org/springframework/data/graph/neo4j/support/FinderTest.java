@@ -8,8 +8,11 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.neo4j.helpers.collection.IteratorUtil;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.graph.neo4j.Car;
 import org.springframework.data.graph.neo4j.Group;
 import org.springframework.data.graph.neo4j.Person;
+import org.springframework.data.graph.neo4j.Toyota;
+import org.springframework.data.graph.neo4j.Volvo;
 import org.springframework.data.graph.neo4j.finder.FinderFactory;
 import org.springframework.data.graph.neo4j.finder.NodeFinder;
 import org.springframework.data.graph.neo4j.support.node.Neo4jHelper;
@@ -22,6 +25,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 
@@ -53,6 +57,62 @@ public class FinderTest {
         assertEquals(new HashSet<Person>(Arrays.asList(p1, p2)), IteratorUtil.addToCollection(allPersons.iterator(), new HashSet<Person>()));
     }
 
+    @Test
+    @Transactional
+    public void testFinderFindAllPaged() {
+        Person p1 = new Person("Michael", 35);
+        Person p2 = new Person("David", 25);
+        Person p3 = new Person("Emil", 32);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        Collection<Person> firstPage = IteratorUtil.asCollection(finder.findAll(0, 2));
+        Collection<Person> secondPage = IteratorUtil.asCollection(finder.findAll(2, 2));
+        assertEquals(2, firstPage.size());
+        assertEquals(1, secondPage.size());
+        Collection<Person> all = new HashSet<Person>(firstPage);
+        all.addAll(secondPage);
+        assertEquals(new HashSet<Person>(Arrays.asList(p1, p2, p3)), all);
+        Assert.assertFalse(finder.findAll(3, 2).iterator().hasNext());
+    }
+
+    @Test
+    @Transactional
+    public void testFinderFindAllAfter() {
+        new Person("Michael", 35);
+        new Person("David", 25);
+        new Person("Emil", 32);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        Person last = IteratorUtil.asCollection(finder.findAll(0, 2)).toArray(new Person[2])[1];
+        assertEquals(IteratorUtil.asCollection(finder.findAll(2, 2)), IteratorUtil.asCollection(finder.findAllAfter(last.getNodeId(), 2)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testFinderFindAllAfterMissingIdFails() {
+        new Person("Michael", 35);
+        Person removed = new Person("David", 25);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        long removedId = removed.getNodeId();
+        removed.remove();
+        finder.findAllAfter(removedId, 2).iterator().hasNext();
+    }
+
+    @Test
+    @Transactional
+    public void testFinderFindAllProjected() {
+        Person p = new Person("Michael", 35);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        PersonSummary summary = finder.findAllProjected(PersonSummary.class).iterator().next();
+        assertEquals("Michael", summary.getName());
+        assertEquals(35, summary.getAge());
+        Assert.assertNull(summary.getHeight());
+    }
+
+    public interface PersonSummary {
+        String getName();
+        int getAge();
+        Short getHeight();
+    }
+
     @Test
     @Transactional
     public void testFinderFindById() {
@@ -62,6 +122,27 @@ public class FinderTest {
         assertEquals(p, pById);
     }
 
+    @Test
+    @Transactional
+    public void testFinderFindAllById() {
+        Person p1 = new Person("Michael", 35);
+        Person p2 = new Person("David", 25);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        assertEquals(Arrays.asList(p2, p1), finder.findAllById(p2.getNodeId(), 589736218, p1.getNodeId()));
+    }
+
+    @Test
+    @Transactional
+    public void testFinderFindAllByIdOfSubclasses() {
+        Car volvo1 = new Volvo();
+        Car toyota = new Toyota();
+        Car volvo2 = new Volvo();
+        NodeFinder<Car> finder = finderFactory.createNodeEntityFinder(Car.class);
+        List<Car> cars = finder.findAllById(volvo1.getNodeId(), toyota.getNodeId(), volvo2.getNodeId());
+        assertEquals(Arrays.asList(volvo1, toyota, volvo2), cars);
+        assertEquals(Arrays.<Class<?>>asList(Volvo.class, Toyota.class, Volvo.class), Arrays.<Class<?>>asList(cars.get(0).getClass(), cars.get(1).getClass(), cars.get(2).getClass()));
+    }
+
     @Test
     @Transactional
     public void testFinderFindByIdNonexistent() {
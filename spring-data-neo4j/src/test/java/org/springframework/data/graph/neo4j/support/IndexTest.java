@@ -2,6 +2,8 @@ package org.springframework.data.graph.neo4j.support;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -32,6 +34,7 @@ import java.util.HashSet;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(SpringJUnit4ClassRunner.class)
 @ContextConfiguration(locations = {"classpath:org/springframework/data/graph/neo4j/support/Neo4jGraphPersistenceTest-context.xml"})
@@ -66,6 +69,37 @@ public class IndexTest {
         assertEquals(friendship, friendshipFinder.findByPropertyValue(null, "Friendship.years", 1));
     }
 
+    @Test
+    @Transactional
+    public void testRemovedEntitiesAreRemovedFromIndexes() {
+        Person p = new Person(NAME_VALUE, 35);
+        Person p2 = new Person(NAME_VALUE2, 25);
+        Friendship friendship = p.knows(p2);
+        friendship.setYears(1);
+        p.remove();
+        final NodeFinder<Person> personFinder = finderFactory.createNodeEntityFinder(Person.class);
+        assertNull(personFinder.findByPropertyValue(Person.NAME_INDEX, "Person.name", NAME_VALUE));
+        assertEquals(p2, personFinder.findByPropertyValue(Person.NAME_INDEX, "Person.name", NAME_VALUE2));
+        RelationshipFinder<Friendship> friendshipFinder = finderFactory.createRelationshipEntityFinder(Friendship.class);
+        assertNull(friendshipFinder.findByPropertyValue(null, "Friendship.years", 1));
+    }
+
+    @Test
+    @Transactional
+    public void testRemovedEntitiesAreRemovedFromIndexesOfUnmappedProperties() {
+        Person p = new Person(NAME_VALUE, 35);
+        Person p2 = new Person(NAME_VALUE2, 25);
+        final Node node = p.getUnderlyingState();
+        node.setProperty("custom", "customValue");
+        graphDatabaseContext.getNodeIndex("custom").add(node, "custom", "customValue");
+        Relationship relationship = node.createRelationshipTo(p2.getUnderlyingState(), DynamicRelationshipType.withName("untyped"));
+        relationship.setProperty("custom", "customValue");
+        graphDatabaseContext.getRelationshipIndex("custom").add(relationship, "custom", "customValue");
+        p.remove();
+        assertNull(graphDatabaseContext.getNodeIndex("custom").get("custom", "customValue").getSingle());
+        assertNull(graphDatabaseContext.getRelationshipIndex("custom").get("custom", "customValue").getSingle());
+    }
+
     @Test
     @Transactional
     public void testGetRelationshipFromLookedUpNode() {
@@ -88,6 +122,37 @@ public class IndexTest {
         assertNull("Group.name removed from index", found);
     }
 
+    @Test
+    @Transactional
+    public void testIndexHandlesAreCached() {
+        assertSame(graphDatabaseContext.getNodeIndex(null), graphDatabaseContext.getNodeIndex(GraphDatabaseContext.DEFAULT_NODE_INDEX_NAME));
+        assertSame(graphDatabaseContext.getRelationshipIndex(null), graphDatabaseContext.getRelationshipIndex(GraphDatabaseContext.DEFAULT_RELATIONSHIP_INDEX_NAME));
+    }
+
+    @Test
+    public void testDeletedIndexIsRemovedFromCache() {
+        Transaction tx = graphDatabaseContext.beginTx();
+        Index<Node> index;
+        try {
+            index = graphDatabaseContext.getNodeIndex("cached");
+            graphDatabaseContext.deleteNodeIndex("cached");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        tx = graphDatabaseContext.beginTx();
+        try {
+            Node node = graphDatabaseContext.createNode();
+            final Index<Node> recreated = graphDatabaseContext.getNodeIndex("cached");
+            Assert.assertNotSame(index, recreated);
+            recreated.add(node, NAME, NAME_VALUE);
+            assertEquals(node, recreated.get(NAME, NAME_VALUE).getSingle());
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+    }
+
 	@Test
 	@Transactional
 	public void testFindGroupByIndex() {
@@ -97,6 +162,72 @@ public class IndexTest {
         final Group found = finder.findByPropertyValue(null, NAME, NAME_VALUE);
         assertEquals(group,found);
 	}
+
+    @Test
+    @Transactional
+    public void testRepeatedChangesOfIndexedFieldKeepOnlyLastValue() {
+        Group group = new Group();
+        group.setName(NAME_VALUE);
+        group.setName(NAME_VALUE2);
+        group.setName(NAME_VALUE3);
+        final NodeFinder<Group> finder = finderFactory.createNodeEntityFinder(Group.class);
+        assertNull(finder.findByPropertyValue(null, NAME, NAME_VALUE));
+        assertNull(finder.findByPropertyValue(null, NAME, NAME_VALUE2));
+        assertEquals(group, finder.findByPropertyValue(null, NAME, NAME_VALUE3));
+    }
+
+    @Test
+    @Transactional
+    public void testOnlyQueryIndexLookupWritesPendingUpdates() {
+        Group group = new Group();
+        group.setName(NAME_VALUE);
+        assertNull("plain lookup doesn't flush", graphDatabaseContext.getNodeIndex(null).get(NAME, NAME_VALUE).getSingle());
+        assertEquals(group.getUnderlyingState(), graphDatabaseContext.getNodeIndexForQuery(null).get(NAME, NAME_VALUE).getSingle());
+    }
+
+    @Test
+    public void testChangedIndexedFieldRemovesCommittedValue() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        Transaction tx = graphDatabaseContext.beginTx();
+        Group group;
+        try {
+            group = new Group();
+            group.setName(NAME_VALUE);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        tx = graphDatabaseContext.beginTx();
+        try {
+            group.setName(NAME_VALUE2);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        final NodeFinder<Group> finder = finderFactory.createNodeEntityFinder(Group.class);
+        assertNull(finder.findByPropertyValue(null, NAME, NAME_VALUE));
+        assertEquals(group, finder.findByPropertyValue(null, NAME, NAME_VALUE2));
+    }
+
+    @Test
+    public void testPendingUpdatesOfNodeDeletedInSameTransactionAreDropped() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            Group group = new Group();
+            group.setName(NAME_VALUE);
+            final Node node = group.getUnderlyingState();
+            for (Relationship relationship : node.getRelationships()) {
+                relationship.delete();
+            }
+            node.delete();
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        assertNull(graphDatabaseContext.getNodeIndex(null).get(NAME, NAME_VALUE).getSingle());
+    }
+
 	@Test
 	@Transactional
 	public void testDontFindGroupByNonIndexedFieldWithAnnotation() {
@@ -145,6 +276,25 @@ public class IndexTest {
         final Person found = finder.findAllByRange(null, "Person.age", 10,40).iterator().next();
 	    assertEquals("person found inside range",person, found);
     }
+    @Test
+	public void testSortedRangeQueryWithLimit() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        Transaction tx = graphDatabaseContext.beginTx();
+        Person oldest, middle;
+        try {
+            oldest = new Person(NAME_VALUE, 35);
+            new Person(NAME_VALUE2, 25);
+            middle = new Person(NAME_VALUE3, 32);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        final NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        final Sort byAgeDescending = new Sort(new SortField("Person.age", SortField.INT, true));
+        final Iterable<Person> found = finder.findAllByRange(null, "Person.age", 10, 40, byAgeDescending, 2);
+	    assertEquals("two oldest persons in range", Arrays.asList(oldest, middle), IteratorUtil.asCollection(found));
+    }
+
     @Test
 	@Transactional
 	public void testOutsideRangeQueryPersonByIndexOnAnnotatedField() {
@@ -0,0 +1,101 @@
+package org.springframework.data.graph.neo4j.support;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Node;
+import org.neo4j.helpers.collection.IteratorUtil;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.graph.annotation.NodeEntity;
+import org.springframework.data.graph.core.NodeBacked;
+import org.springframework.data.graph.neo4j.Car;
+import org.springframework.data.graph.neo4j.Toyota;
+import org.springframework.data.graph.neo4j.Volvo;
+import org.springframework.data.graph.neo4j.support.node.Neo4jHelper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:org/springframework/data/graph/neo4j/support/Neo4jGraphPersistenceTest-context.xml"})
+public class IndexingNodeTypeStrategyTest {
+
+    @Autowired
+    GraphDatabaseContext graphDatabaseContext;
+
+    private IndexingNodeTypeStrategy nodeTypeStrategy;
+
+    @BeforeTransaction
+    public void cleanDb() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+    }
+
+    @Before
+    public void setUp() {
+        nodeTypeStrategy = new IndexingNodeTypeStrategy(graphDatabaseContext);
+    }
+
+    private SubReferenceNodeTypeStrategyTest.Thing createThing() {
+        SubReferenceNodeTypeStrategyTest.Thing thing = new SubReferenceNodeTypeStrategyTest.Thing(graphDatabaseContext.createNode());
+        nodeTypeStrategy.postEntityCreation(thing);
+        return thing;
+    }
+
+    @Test
+    @Transactional
+    public void testPostEntityCreation() throws Exception {
+        Node node = createThing().getUnderlyingState();
+        Assert.assertEquals("type is stored as property", SubReferenceNodeTypeStrategyTest.Thing.class.getName(), node.getProperty(IndexingNodeTypeStrategy.TYPE_PROPERTY_NAME));
+        Assert.assertEquals("java type of node is thing", SubReferenceNodeTypeStrategyTest.Thing.class, nodeTypeStrategy.<NodeBacked>getJavaType(node));
+    }
+
+    @Test
+    @Transactional
+    public void testCountAndFindAll() throws Exception {
+        createThing();
+        createThing();
+        Assert.assertEquals("two things created", 2, nodeTypeStrategy.count(SubReferenceNodeTypeStrategyTest.Thing.class));
+        Collection<SubReferenceNodeTypeStrategyTest.Thing> things = IteratorUtil.asCollection(nodeTypeStrategy.findAll(SubReferenceNodeTypeStrategyTest.Thing.class));
+        Assert.assertEquals("two things found", 2, things.size());
+    }
+
+    @Test
+    @Transactional
+    public void testCountAndFindAllOfSuperclass() throws Exception {
+        nodeTypeStrategy.postEntityCreation(new Volvo());
+        nodeTypeStrategy.postEntityCreation(new Toyota());
+        Assert.assertEquals("both cars are counted for the superclass", 2, nodeTypeStrategy.count(Car.class));
+        Collection<Car> cars = IteratorUtil.asCollection(nodeTypeStrategy.findAll(Car.class));
+        Assert.assertEquals("both cars found", 2, cars.size());
+        Assert.assertEquals("iterable can be iterated again", 2, IteratorUtil.asCollection(nodeTypeStrategy.findAll(Car.class)).size());
+        Assert.assertEquals("subclass only finds its instances", 1, nodeTypeStrategy.count(Volvo.class));
+        Assert.assertEquals("concrete type is created", Volvo.class, nodeTypeStrategy.findAll(Volvo.class).iterator().next().getClass());
+    }
+
+    @Test
+    @Transactional
+    public void testPreEntityRemoval() throws Exception {
+        SubReferenceNodeTypeStrategyTest.Thing thing = createThing();
+        createThing();
+        nodeTypeStrategy.preEntityRemoval(thing);
+        Assert.assertEquals("one thing left after removal", 1, nodeTypeStrategy.count(SubReferenceNodeTypeStrategyTest.Thing.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @Transactional
+    public void testConfirmTypeFailsForOtherType() throws Exception {
+        Node node = createThing().getUnderlyingState();
+        nodeTypeStrategy.confirmType(node, OtherThing.class);
+    }
+
+    @NodeEntity
+    public static class OtherThing {
+        public OtherThing(Node n) {
+            setUnderlyingState(n);
+        }
+    }
+}
@@ -131,6 +131,24 @@ public class NodeEntityRelationshipTest {
         Assert.assertTrue(Set.class.isAssignableFrom(personsFromGet.getClass()));
     }
 
+    @Test
+    @Transactional
+    public void testOneToManyRelationshipIsViewOfGraph() {
+        Person michael = new Person("Michael", 35);
+        Person david = new Person("David", 25);
+        Person emil = new Person("Emil", 32);
+        Group group = new Group();
+        group.setPersons(new HashSet<Person>(Arrays.asList(michael, david)));
+        Collection<Person> persons = group.getPersons();
+        assertEquals(2, persons.size());
+        Assert.assertTrue(persons.contains(michael));
+        Assert.assertFalse(persons.contains(emil));
+        group.getUnderlyingState().createRelationshipTo(emil.getUnderlyingState(), DynamicRelationshipType.withName("persons"));
+        assertEquals("relationships created in the graph are visible", 3, persons.size());
+        Assert.assertTrue(persons.contains(emil));
+        assertEquals(new HashSet<Person>(Arrays.asList(michael, david, emil)), IteratorUtil.addToCollection(persons.iterator(), new HashSet<Person>()));
+    }
+
     @Test
     @Transactional
     public void testAddToOneToManyRelationship() {
@@ -156,6 +174,41 @@ public class NodeEntityRelationshipTest {
         assertEquals(Collections.singleton(michael), group.getPersons());
     }
 
+    @Test
+    @Transactional
+    public void testModifyOneToManyRelationshipAppliesOnlyChanges() {
+        Person michael = new Person("Michael", 35);
+        Person david = new Person("David", 25);
+        Person emil = new Person("Emil", 32);
+        Group group = new Group();
+        group.setPersons(new HashSet<Person>(Arrays.asList(michael, david)));
+        Relationship michaelRel = michael.getUnderlyingState().getSingleRelationship(DynamicRelationshipType.withName("persons"), Direction.INCOMING);
+        Collection<Person> persons = group.getPersons();
+        Assert.assertTrue(persons.add(emil));
+        Assert.assertFalse("adding an existing element does not create a relationship", persons.add(emil));
+        for (Iterator<Person> it = persons.iterator(); it.hasNext();) {
+            if (it.next().equals(david)) it.remove();
+        }
+        assertEquals(new HashSet<Person>(Arrays.asList(michael, emil)), group.getPersons());
+        assertEquals("existing relationship is kept", michaelRel, michael.getUnderlyingState().getSingleRelationship(DynamicRelationshipType.withName("persons"), Direction.INCOMING));
+    }
+
+    @Test
+    @Transactional
+    public void testGetRelationshipToSuperNode() {
+        RelationshipType persons = DynamicRelationshipType.withName("persons");
+        Node group = graphDatabaseContext.createNode();
+        for (int i = 0; i < 100; i++) {
+            group.createRelationshipTo(graphDatabaseContext.createNode(), persons);
+        }
+        Node member = graphDatabaseContext.createNode();
+        Relationship membership = group.createRelationshipTo(member, persons);
+        assertEquals(membership, graphDatabaseContext.getRelationshipTo(group, member, persons, Direction.OUTGOING));
+        assertEquals(membership, graphDatabaseContext.getRelationshipTo(member, group, persons, Direction.INCOMING));
+        Assert.assertNull(graphDatabaseContext.getRelationshipTo(group, member, persons, Direction.INCOMING));
+        Assert.assertNull(graphDatabaseContext.getRelationshipTo(group, graphDatabaseContext.createNode(), persons, Direction.OUTGOING));
+    }
+
     @Test
     @Transactional
     public void testRelationshipGetEntities() {
@@ -167,6 +220,23 @@ public class NodeEntityRelationshipTest {
         assertEquals(new HashSet<Friendship>(Arrays.asList(f2, f3)), IteratorUtil.addToCollection(p.getFriendships().iterator(), new HashSet<Friendship>()));
     }
 
+    @Test
+    @Transactional
+    public void testCountRelationships() {
+        Person p = new Person("Michael", 35);
+        Person p2 = new Person("David", 25);
+        Person p3 = new Person("Emil", 32);
+        p.knows(p2);
+        p.knows(p3);
+        assertEquals(2, p.countRelationships("knows", Direction.OUTGOING));
+        assertEquals(0, p.countRelationships("knows", Direction.INCOMING));
+        Assert.assertTrue(p2.hasRelationships("knows", Direction.INCOMING));
+        Assert.assertFalse(p2.hasRelationships("knows", Direction.OUTGOING));
+        assertEquals(2, ((Collection<Friendship>) p.getFriendships()).size());
+        Assert.assertFalse(((Collection<Friendship>) p.getFriendships()).isEmpty());
+        Assert.assertTrue(((Collection<Friendship>) p2.getFriendships()).isEmpty());
+    }
+
     @Test(expected = InvalidDataAccessApiUsageException.class)
     @Transactional
     public void testRelationshipSetEntitiesShouldThrowException() {
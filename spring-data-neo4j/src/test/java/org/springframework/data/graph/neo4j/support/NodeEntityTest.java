@@ -19,6 +19,10 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 import org.springframework.test.context.transaction.BeforeTransaction;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 
@@ -105,4 +109,68 @@ import static org.junit.Assert.assertNull;
         Assert.assertNull("node deleted " + id, graphDatabaseContext.getNodeById(id));
     }
 
+    @Test
+    public void testRemoveNodeEntitiesInChunks() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            Person p = new Person("Michael", 35);
+            Person spouse = new Person("Tina", 36);
+            p.setSpouse(spouse);
+            new Person("Emil", 32);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        assertEquals(3, graphDatabaseContext.removeNodeEntities(finder.findAll(), 2));
+        assertEquals(0, finder.count());
+        assertNull(finder.findByPropertyValue(Person.NAME_INDEX, "Person.name", "Tina"));
+    }
+
+    @Test
+    public void testRemoveNodeEntitiesInManyChunks() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        createPersons(25);
+        NodeFinder<Person> finder = finderFactory.createNodeEntityFinder(Person.class);
+        assertEquals(25, graphDatabaseContext.removeNodeEntities(finder.findAll(), 3));
+        assertEquals(0, finder.count());
+        Assert.assertFalse(finder.findAll().iterator().hasNext());
+    }
+
+    @Test
+    public void testRemoveNodeEntitiesOfCollectionInManyChunks() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        List<Person> persons = createPersons(10);
+        assertEquals(10, graphDatabaseContext.removeNodeEntities(persons, 3));
+        assertEquals(0, finderFactory.createNodeEntityFinder(Person.class).count());
+    }
+
+    @Test
+    public void testRemoveNodeEntitiesOfSourceReturningRemovedEntities() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        final List<Person> persons = createPersons(10);
+        final Iterable<Person> source = new Iterable<Person>() {
+            @Override
+            public Iterator<Person> iterator() {
+                return persons.iterator();
+            }
+        };
+        assertEquals(10, graphDatabaseContext.removeNodeEntities(source, 3));
+        assertEquals(0, finderFactory.createNodeEntityFinder(Person.class).count());
+    }
+
+    private List<Person> createPersons(int count) {
+        final List<Person> persons = new ArrayList<Person>(count);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            for (int i = 0; i < count; i++) {
+                persons.add(new Person("Person " + i, i));
+            }
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        return persons;
+    }
 }
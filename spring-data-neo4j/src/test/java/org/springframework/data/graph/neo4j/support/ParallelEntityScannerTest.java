@@ -0,0 +1,111 @@
+package org.springframework.data.graph.neo4j.support;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.neo4j.graphdb.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.graph.neo4j.Person;
+import org.springframework.data.graph.neo4j.support.node.Neo4jHelper;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(locations = {"classpath:org/springframework/data/graph/neo4j/support/Neo4jGraphPersistenceTest-context.xml"})
+public class ParallelEntityScannerTest {
+
+    @Autowired
+    GraphDatabaseContext graphDatabaseContext;
+
+    @Before
+    public void setUp() {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            new Person("Michael", 35);
+            new Person("David", 25);
+            new Person("Emil", 32);
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+    }
+
+    @Test
+    public void testScanProcessesAllEntities() throws Exception {
+        final Set<String> names = Collections.synchronizedSet(new HashSet<String>());
+        long processed = new ParallelEntityScanner(graphDatabaseContext, 2, 1).scan(Person.class, new EntityCallback<Person>() {
+            @Override
+            public void process(Person person) {
+                names.add(person.getName());
+            }
+        });
+        assertEquals(3, processed);
+        assertEquals(new HashSet<String>(Arrays.asList("Michael", "David", "Emil")), names);
+    }
+
+    @Test
+    public void testScanRethrowsFailure() throws Exception {
+        try {
+            new ParallelEntityScanner(graphDatabaseContext, 2, 1).scan(Person.class, new EntityCallback<Person>() {
+                @Override
+                public void process(Person person) {
+                    throw new IllegalStateException("failed " + person.getName());
+                }
+            });
+            Assert.fail("failure of callback is rethrown");
+        } catch (IllegalStateException expected) {
+            Assert.assertTrue(expected.getMessage().startsWith("failed"));
+        }
+    }
+
+    @Test
+    public void testScanRethrowsError() throws Exception {
+        try {
+            new ParallelEntityScanner(graphDatabaseContext, 2, 1).scan(Person.class, new EntityCallback<Person>() {
+                @Override
+                public void process(Person person) {
+                    throw new AssertionError("failed " + person.getName());
+                }
+            });
+            Assert.fail("error of callback is rethrown");
+        } catch (AssertionError expected) {
+            Assert.assertTrue(expected.getMessage().startsWith("failed"));
+        }
+    }
+
+    @Test
+    public void testBatchesAreNotProcessedByCallerWhenQueueIsFull() throws Exception {
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            for (int i = 0; i < 10; i++) {
+                new Person("Person " + i, i);
+            }
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        final Set<Thread> workers = Collections.synchronizedSet(new HashSet<Thread>());
+        long processed = new ParallelEntityScanner(graphDatabaseContext, 1, 1).scan(Person.class, new EntityCallback<Person>() {
+            @Override
+            public void process(Person person) {
+                workers.add(Thread.currentThread());
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        assertEquals(13, processed);
+        Assert.assertFalse("caller did not process a batch", workers.contains(Thread.currentThread()));
+    }
+}
@@ -108,6 +108,52 @@ public class SubReferenceNodeTypeStrategyTest {
         Assert.assertEquals("one thing created", 1, nodeTypeStrategy.count(Thing.class));
     }
 
+    @Test
+    @Transactional
+    public void testShardedCount() throws Exception {
+        SubReferenceNodeTypeStrategy shardedStrategy = new SubReferenceNodeTypeStrategy(graphDatabaseContext, 4);
+        shardedStrategy.postEntityCreation(new Thing(graphDatabaseContext.createNode()));
+        Thing removed = new Thing(graphDatabaseContext.createNode());
+        shardedStrategy.postEntityCreation(removed);
+        Assert.assertEquals("unsharded and sharded things are counted", 3, shardedStrategy.count(Thing.class));
+        shardedStrategy.preEntityRemoval(removed);
+        Assert.assertEquals("removal decrements one of the counters", 2, shardedStrategy.count(Thing.class));
+        Assert.assertEquals("default strategy sees sharded counts as well", 2, nodeTypeStrategy.count(Thing.class));
+    }
+
+    @Test
+    @Transactional
+    public void testShardedInstancesAreRelatedToCounterShard() throws Exception {
+        SubReferenceNodeTypeStrategy shardedStrategy = new SubReferenceNodeTypeStrategy(graphDatabaseContext, 4);
+        Node shardedNode = graphDatabaseContext.createNode();
+        shardedStrategy.postEntityCreation(new Thing(shardedNode));
+        Node typeNode = shardedNode.getSingleRelationship(SubReferenceNodeTypeStrategy.INSTANCE_OF_RELATIONSHIP_TYPE, Direction.OUTGOING).getEndNode();
+        Assert.assertTrue("instance is related to a counter shard", typeNode.hasProperty(SubReferenceNodeTypeStrategy.COUNTER_SHARD_KEY));
+        Assert.assertEquals("type is resolved via the shard", Thing.class, nodeTypeStrategy.<NodeBacked>getJavaType(shardedNode));
+        Assert.assertEquals("instances of subreference node and shards are found", 2, IteratorUtil.asCollection(shardedStrategy.findAllNodes(Thing.class)).size());
+        Assert.assertEquals("default strategy finds sharded instances as well", 2, IteratorUtil.asCollection(nodeTypeStrategy.findAll(Thing.class)).size());
+    }
+
+    @Test
+    public void testDeferredCount() throws Exception {
+        Neo4jHelper.cleanDb(graphDatabaseContext);
+        thingNode = createThing();
+        SubReferenceNodeTypeStrategy deferredStrategy = new SubReferenceNodeTypeStrategy(graphDatabaseContext, 1, true);
+        Node typeNode = deferredStrategy.findSubreferenceNode(Thing.class);
+        Transaction tx = graphDatabaseContext.beginTx();
+        try {
+            deferredStrategy.postEntityCreation(new Thing(graphDatabaseContext.createNode()));
+            deferredStrategy.postEntityCreation(new Thing(graphDatabaseContext.createNode()));
+            Assert.assertEquals("counter is not written before commit", 1, typeNode.getProperty(SubReferenceNodeTypeStrategy.SUBREFERENCE_NODE_COUNTER_KEY));
+            Assert.assertEquals("pending things are counted", 3, deferredStrategy.count(Thing.class));
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        Assert.assertEquals("counter written once on commit", 3, typeNode.getProperty(SubReferenceNodeTypeStrategy.SUBREFERENCE_NODE_COUNTER_KEY));
+        Assert.assertEquals("default strategy sees committed count", 3, nodeTypeStrategy.count(Thing.class));
+    }
+
     @Test
     @Transactional
     public void testGetJavaType() throws Exception {
@@ -115,6 +161,17 @@ public class SubReferenceNodeTypeStrategyTest {
 
     }
 
+    @Test
+    @Transactional
+    public void testGetJavaTypeFollowsTypeChangesOfNode() throws Exception {
+        SubReferenceNodeTypeStrategy strategy = new SubReferenceNodeTypeStrategy(graphDatabaseContext);
+        Assert.assertEquals("class in graph is thing", Thing.class, strategy.<NodeBacked>getJavaType(thingNode));
+        new Person("Rod", 39);
+        getInstanceofRelationship().delete();
+        thingNode.createRelationshipTo(strategy.findSubreferenceNode(Person.class), SubReferenceNodeTypeStrategy.INSTANCE_OF_RELATIONSHIP_TYPE);
+        Assert.assertEquals("type of the node is not cached", Person.class, strategy.<NodeBacked>getJavaType(thingNode));
+    }
+
     @Test
     @Transactional
     public void testConfirmType() throws Exception {
@@ -162,6 +219,15 @@ public class SubReferenceNodeTypeStrategyTest {
         assertEquals("Wrong count for Toyota.", 1, finderFactory.createNodeEntityFinder(Toyota.class).count());
         assertEquals("Wrong count for Car.", 2, finderFactory.createNodeEntityFinder(Car.class).count());
 	}
+	@Test
+	@Transactional
+	public void testHasSubtypes() {
+		new Volvo();
+		Assert.assertTrue("Car has the stored subtype Volvo", nodeTypeStrategy.hasSubtypes(Car.class));
+		Assert.assertFalse("Volvo has no stored subtypes", nodeTypeStrategy.hasSubtypes(Volvo.class));
+		Assert.assertTrue("unknown type is treated as having subtypes", nodeTypeStrategy.hasSubtypes(Toyota.class));
+	}
+
 	@Test
 	@Transactional
 	public void testCountClasses() {
@@ -242,6 +242,41 @@ public class Neo4jTemplateApiTest {
         assertSingleResult("rel1",template.query("relationship", new RelationshipNameMapper(), "name", "rel1"));
     }
 
+    @Test
+    public void testQueryUsesRelationshipIndexCreatedElsewhereAfterCacheIsCleared() throws Exception {
+        assertFalse(template.query("later", new NodeNameMapper(), "name", "rel1").iterator().hasNext());
+        Transaction tx = graphDatabase.beginTx();
+        try {
+            graphDatabase.index().forRelationships("later").add(relationship1, "name", "rel1");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        assertFalse("name stays resolved to the node index", template.query("later", new NodeNameMapper(), "name", "rel1").iterator().hasNext());
+        template.clearIndexCache();
+        assertSingleResult("rel1", template.query("later", new RelationshipNameMapper(), "name", "rel1"));
+    }
+
+    @Test
+    public void testQueryAfterIndexDeletionUsesNewIndex() throws Exception {
+        assertSingleResult("rel1", template.query("relationship", new RelationshipNameMapper(), "name", "rel1"));
+        Transaction tx = graphDatabase.beginTx();
+        try {
+            template.deleteRelationshipIndex("relationship");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        tx = graphDatabase.beginTx();
+        try {
+            template.index("relationship", relationship1, "name", "rel1");
+            tx.success();
+        } finally {
+            tx.finish();
+        }
+        assertSingleResult("rel1", template.query("relationship", new RelationshipNameMapper(), "name", "rel1"));
+    }
+
     @Test
     public void testTraverse() throws Exception {
         assertSingleResult("node1",template.traverseGraph(referenceNode, new NodeNameMapper(), Traversal.description().relationships(KNOWS).prune(Traversal.pruneAfterDepth(1)).filter(Traversal.returnAllButStartNode())));